@@ -0,0 +1,62 @@
+package com.example.benchmark;
+
+import com.example.JavaTestingApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de arranque en frío del contexto Spring
+ * 
+ * Cada fork es una JVM nueva que levanta una única vez el contexto con
+ * UsuarioRepository, UsuarioService y EmailService (JPA sobre H2), sin
+ * calentamiento: es el tiempo que tarda una instancia nueva en poder
+ * atender peticiones cuando se escala ante un pico. La distribución sale
+ * de los forks, de ahí que haya tantos.
+ * 
+ * Para ver en qué fase se va el tiempo (beans, metamodelo JPA, arranque de
+ * Hibernate, proxies de repositorios) usar DesgloseArranque.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(15)
+public class ArranqueContextoBenchmark {
+    
+    @State(Scope.Thread)
+    public static class Contexto {
+        
+        ConfigurableApplicationContext contexto;
+        
+        @TearDown(Level.Invocation)
+        public void cerrar() {
+            if (contexto != null) {
+                contexto.close();
+                contexto = null;
+            }
+        }
+    }
+    
+    @Benchmark
+    public ConfigurableApplicationContext arrancar(Contexto estado) {
+        estado.contexto = new SpringApplicationBuilder(JavaTestingApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .run();
+        return estado.contexto;
+    }
+}
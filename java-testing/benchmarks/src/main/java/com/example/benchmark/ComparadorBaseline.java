@@ -0,0 +1,162 @@
+package com.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara un resultado JMH (-rf json) con la línea base versionada
+ * 
+ * Falla (código de salida 1) cuando algún benchmark de la línea base:
+ * - tiene un throughput menor que base * (1 - tolerancia): la tolerancia
+ *   es la caída máxima admitida de la puntuación media
+ * - asigna más bytes por operación que base * (1 + toleranciaAsignacion)
+ * - no aparece en el resultado
+ * 
+ * El error de JMH (intervalo de confianza del 99,9 %) se muestra junto a
+ * cada puntuación y, si supera la tolerancia, se avisa de que la
+ * comparación no es fiable: hay que subir forks o iteraciones.
+ * 
+ * Uso: ComparadorBaseline baseline.json resultado.json tolerancia toleranciaAsignacion [actualizar]
+ * Con "true" como último argumento copia el resultado sobre la línea base.
+ */
+public class ComparadorBaseline {
+    
+    static final String METRICA_ASIGNACION = "gc.alloc.rate.norm";
+    
+    // Margen absoluto para métricas cercanas a cero (p. ej. 0 B/op frente a 0.001 B/op)
+    static final double MARGEN_ASIGNACION_BYTES = 8.0;
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Uso: ComparadorBaseline baseline.json resultado.json tolerancia toleranciaAsignacion [actualizar]");
+            System.exit(2);
+        }
+        
+        File baseline = new File(args[0]);
+        File resultado = new File(args[1]);
+        double tolerancia = Double.parseDouble(args[2]);
+        double toleranciaAsignacion = Double.parseDouble(args[3]);
+        boolean actualizar = args.length > 4 && Boolean.parseBoolean(args[4]);
+        
+        if (actualizar) {
+            Files.copy(resultado.toPath(), baseline.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Línea base actualizada: " + baseline.getPath());
+            return;
+        }
+        
+        List<String> regresiones = comparar(leer(baseline), leer(resultado), tolerancia, toleranciaAsignacion);
+        if (!regresiones.isEmpty()) {
+            System.err.println();
+            System.err.println("REGRESIONES DE RENDIMIENTO (" + regresiones.size() + "):");
+            regresiones.forEach(regresion -> System.err.println("  - " + regresion));
+            System.exit(1);
+        }
+        System.out.println("Sin regresiones de rendimiento respecto a " + baseline.getPath());
+    }
+    
+    /**
+     * Devuelve la descripción de cada regresión encontrada
+     */
+    static List<String> comparar(Map<String, JsonNode> baseline, Map<String, JsonNode> resultado,
+                                 double tolerancia, double toleranciaAsignacion) {
+        List<String> regresiones = new ArrayList<>();
+        
+        System.out.printf("%-70s %24s %24s %10s %12s %12s%n",
+            "benchmark", "base", "actual", "cambio", "base B/op", "actual B/op");
+        
+        for (Map.Entry<String, JsonNode> entrada : baseline.entrySet()) {
+            String clave = entrada.getKey();
+            JsonNode base = entrada.getValue();
+            JsonNode actual = resultado.get(clave);
+            
+            if (actual == null) {
+                regresiones.add(clave + ": no se ha ejecutado");
+                continue;
+            }
+            
+            double puntuacionBase = base.path("primaryMetric").path("score").asDouble();
+            double puntuacionActual = actual.path("primaryMetric").path("score").asDouble();
+            double cambio = puntuacionBase == 0 ? 0 : (puntuacionActual - puntuacionBase) / puntuacionBase;
+            double asignacionBase = asignacion(base);
+            double asignacionActual = asignacion(actual);
+            
+            System.out.printf("%-70s %24s %24s %9.1f%% %12.1f %12.1f%n",
+                clave, conError(base), conError(actual), cambio * 100, asignacionBase, asignacionActual);
+            
+            if (errorRelativo(base) > tolerancia || errorRelativo(actual) > tolerancia) {
+                System.out.printf("  aviso: el error de %s supera la tolerancia del %.0f%%%n", clave, tolerancia * 100);
+            }
+            
+            if (puntuacionActual < puntuacionBase * (1 - tolerancia)) {
+                regresiones.add(String.format("%s: throughput %s -> %s %s (%.1f%%, tolerancia %.0f%%)",
+                    clave, conError(base), conError(actual),
+                    base.path("primaryMetric").path("scoreUnit").asText(), cambio * 100, tolerancia * 100));
+            }
+            
+            if (asignacionBase >= 0 && asignacionActual >= 0
+                    && asignacionActual > asignacionBase * (1 + toleranciaAsignacion) + MARGEN_ASIGNACION_BYTES) {
+                regresiones.add(String.format("%s: asignación %.1f -> %.1f B/op (tolerancia %.0f%%)",
+                    clave, asignacionBase, asignacionActual, toleranciaAsignacion * 100));
+            }
+        }
+        return regresiones;
+    }
+    
+    /**
+     * Error de JMH relativo a la puntuación; 0 si no pudo calcularlo
+     * (una sola iteración da NaN)
+     */
+    private static double errorRelativo(JsonNode benchmark) {
+        JsonNode metrica = benchmark.path("primaryMetric");
+        double error = metrica.path("scoreError").asDouble(Double.NaN);
+        double puntuacion = metrica.path("score").asDouble();
+        return Double.isNaN(error) || puntuacion == 0 ? 0 : error / puntuacion;
+    }
+    
+    private static String conError(JsonNode benchmark) {
+        JsonNode metrica = benchmark.path("primaryMetric");
+        double error = metrica.path("scoreError").asDouble(Double.NaN);
+        return String.format("%.3f +/- %.3f", metrica.path("score").asDouble(), Double.isNaN(error) ? 0 : error);
+    }
+    
+    /**
+     * Bytes por operación, o -1 si el resultado no incluye el profiler de GC
+     */
+    private static double asignacion(JsonNode benchmark) {
+        JsonNode metrica = benchmark.path("secondaryMetrics").path(METRICA_ASIGNACION);
+        return metrica.isMissingNode() ? -1 : metrica.path("score").asDouble();
+    }
+    
+    /**
+     * Lee un fichero JMH y lo indexa por benchmark, modo y parámetros
+     */
+    static Map<String, JsonNode> leer(File fichero) throws Exception {
+        Map<String, JsonNode> porClave = new LinkedHashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(fichero)) {
+            porClave.put(clave(benchmark), benchmark);
+        }
+        return porClave;
+    }
+    
+    private static String clave(JsonNode benchmark) {
+        String nombre = benchmark.path("benchmark").asText().replace("com.example.benchmark.", "");
+        StringBuilder clave = new StringBuilder(nombre).append(" [").append(benchmark.path("mode").asText());
+        
+        JsonNode parametros = benchmark.path("params");
+        Iterator<Map.Entry<String, JsonNode>> campos = parametros.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            clave.append(", ").append(campo.getKey()).append('=').append(campo.getValue().asText());
+        }
+        return clave.append(']').toString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.benchmark;
+
+import com.example.JavaTestingApplication;
+import com.example.model.Usuario;
+import com.example.repository.UsuarioRepository;
+import com.example.service.EmailService;
+import com.example.service.UsuarioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark de UsuarioService.crearUsuario
+ * 
+ * Combina dos backends de repositorio (mapa en memoria y JPA sobre H2)
+ * con dos EmailService (stub sin efecto y el servicio real sin salida por
+ * consola, EmailServiceSilencioso).
+ * Se reporta throughput y, en modo SampleTime, percentiles de latencia
+ * (p50, p99, p99.9).
+ * 
+ * Con H2 el UsuarioService sale del contexto Spring arrancado, con sus
+ * transacciones y aspectos de observabilidad, igual que en producción; el
+ * EmailService elegido se registra como bean primario. En memoria no hay
+ * contexto y el servicio se construye a mano sobre el repositorio falso.
+ * 
+ * DESGLOSE:
+ * Además de crearUsuario completo se miden por separado sus dos pasos
+ * (saveAndFlush, que también detecta el email duplicado, y envío del email
+ * de bienvenida) para ver qué parte del tiempo de cada alta corresponde a
+ * cada uno.
+ * 
+ * CONCURRENCIA:
+ * El número de hilos se controla con -t; EjecutorConcurrenciaCrearUsuario
+ * ejecuta la matriz completa con 1, 4, 16 y 64 llamadores.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrearUsuarioBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Entorno {
+        
+        @Param({"memoria", "h2"})
+        public String backend;
+        
+        @Param({"stub", "real"})
+        public String email;
+        
+        ConfigurableApplicationContext contexto;
+        UsuarioRepository usuarioRepository;
+        EmailService emailService;
+        UsuarioService usuarioService;
+        
+        // Genera emails únicos entre todos los hilos
+        final AtomicLong contador = new AtomicLong();
+        
+        @Setup(Level.Trial)
+        public void iniciar() {
+            EmailService emailElegido = "real".equals(email) ? new EmailServiceSilencioso() : new EmailServiceStub();
+            
+            if ("h2".equals(backend)) {
+                contexto = new SpringApplicationBuilder(JavaTestingApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .initializers(inicial -> ((GenericApplicationContext) inicial).registerBean(
+                        "emailServiceBenchmark", EmailService.class, () -> emailElegido,
+                        definicion -> definicion.setPrimary(true)))
+                    .run();
+                usuarioRepository = contexto.getBean(UsuarioRepository.class);
+                emailService = contexto.getBean(EmailService.class);
+                usuarioService = contexto.getBean(UsuarioService.class);
+            } else {
+                usuarioRepository = UsuarioRepositoryEnMemoria.crear();
+                emailService = emailElegido;
+                usuarioService = new UsuarioService(usuarioRepository, emailService);
+            }
+        }
+        
+        @Setup(Level.Iteration)
+        public void vaciarTabla() {
+            // Mantiene la tabla en un tamaño comparable entre iteraciones
+            usuarioRepository.deleteAllInBatch();
+        }
+        
+        @TearDown(Level.Trial)
+        public void cerrar() {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+        
+        String siguienteEmail() {
+            return "bench" + contador.incrementAndGet() + "@example.com";
+        }
+    }
+    
+    @Benchmark
+    public Usuario crearUsuario(Entorno entorno) {
+        return entorno.usuarioService.crearUsuario("  maría GARCÍA  ", entorno.siguienteEmail(), 30);
+    }
+    
+    @Benchmark
+    public Usuario saveAndFlush(Entorno entorno) {
+        return entorno.usuarioRepository.saveAndFlush(new Usuario("  maría GARCÍA  ", entorno.siguienteEmail(), 30));
+    }
+    
+    @Benchmark
+    public Usuario emailBienvenida(Entorno entorno) {
+        Usuario usuario = new Usuario("  maría GARCÍA  ", entorno.siguienteEmail(), 30);
+        entorno.emailService.enviarEmailBienvenida(usuario);
+        return usuario;
+    }
+}
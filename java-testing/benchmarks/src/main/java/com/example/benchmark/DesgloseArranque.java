@@ -0,0 +1,148 @@
+package com.example.benchmark;
+
+import com.example.JavaTestingApplication;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Desglose por fases del arranque en frío del contexto Spring
+ * 
+ * Levanta el contexto una vez con BufferingApplicationStartup y agrupa
+ * los pasos registrados por Spring en las fases que interesan:
+ * - arranque de Hibernate: creación del bean entityManagerFactory
+ * - metamodelo JPA: creación del bean jpaMappingContext
+ * - proxies de repositorios: pasos spring.data.repository.init
+ * - resto de beans: tiempo propio (sin hijos) del resto de spring.beans.instantiate
+ * Y muestra los beans con más tiempo propio.
+ * 
+ * Con --jfr graba además la JVM (carga de clases, JIT, GC, hilos) durante
+ * el arranque en target/arranque.jfr, para abrirlo con JDK Mission Control.
+ * 
+ * Cada ejecución es un arranque en frío; para varias muestras lanzar el
+ * comando varias veces o usar ArranqueContextoBenchmark.
+ * 
+ * Uso: java -cp target/benchmarks.jar com.example.benchmark.DesgloseArranque [--jfr]
+ */
+public class DesgloseArranque {
+    
+    private static final int CAPACIDAD_PASOS = 20_000;
+    private static final int BEANS_MAS_LENTOS = 15;
+    
+    private static final String INSTANCIAR_BEAN = "spring.beans.instantiate";
+    private static final String INICIAR_REPOSITORIO = "spring.data.repository.init";
+    private static final String REFRESCAR_CONTEXTO = "spring.context.refresh";
+    
+    public static void main(String[] args) throws Exception {
+        boolean conJfr = args.length > 0 && "--jfr".equals(args[0]);
+        Path ficheroJfr = Paths.get("target", "arranque.jfr");
+        
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(CAPACIDAD_PASOS);
+        Recording grabacion = null;
+        if (conJfr) {
+            grabacion = new Recording(Configuration.getConfiguration("profile"));
+            grabacion.start();
+        }
+        
+        long inicio = System.nanoTime();
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(JavaTestingApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .applicationStartup(startup)
+            .run();
+        Duration total = Duration.ofNanos(System.nanoTime() - inicio);
+        
+        if (grabacion != null) {
+            grabacion.stop();
+            ficheroJfr.toAbsolutePath().getParent().toFile().mkdirs();
+            grabacion.dump(ficheroJfr);
+            grabacion.close();
+        }
+        contexto.close();
+        
+        imprimir(total, startup.getBufferedTimeline().getEvents());
+        if (conJfr) {
+            System.out.println("\nGrabación JFR: " + ficheroJfr.toAbsolutePath());
+        }
+    }
+    
+    private static void imprimir(Duration total, List<StartupTimeline.TimelineEvent> eventos) {
+        // Tiempo propio de cada paso: su duración menos la de sus hijos directos
+        Map<Long, Duration> duracionHijos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent evento : eventos) {
+            Long padre = evento.getStartupStep().getParentId();
+            if (padre != null) {
+                duracionHijos.merge(padre, evento.getDuration(), Duration::plus);
+            }
+        }
+        
+        Map<String, Duration> fases = new LinkedHashMap<>();
+        fases.put("refresco del contexto", Duration.ZERO);
+        fases.put("arranque de Hibernate", Duration.ZERO);
+        fases.put("metamodelo JPA", Duration.ZERO);
+        fases.put("proxies de repositorios", Duration.ZERO);
+        fases.put("resto de beans (tiempo propio)", Duration.ZERO);
+        Map<String, Duration> beans = new HashMap<>();
+        
+        for (StartupTimeline.TimelineEvent evento : eventos) {
+            StartupStep paso = evento.getStartupStep();
+            Duration duracion = evento.getDuration();
+            String bean = etiqueta(paso, "beanName");
+            
+            if (REFRESCAR_CONTEXTO.equals(paso.getName())) {
+                fases.merge("refresco del contexto", duracion, Duration::plus);
+            } else if (INICIAR_REPOSITORIO.equals(paso.getName())) {
+                fases.merge("proxies de repositorios", duracion, Duration::plus);
+            } else if (INSTANCIAR_BEAN.equals(paso.getName())) {
+                if ("entityManagerFactory".equals(bean)) {
+                    fases.merge("arranque de Hibernate", duracion, Duration::plus);
+                } else if ("jpaMappingContext".equals(bean)) {
+                    fases.merge("metamodelo JPA", duracion, Duration::plus);
+                } else {
+                    Duration propio = duracion.minus(duracionHijos.getOrDefault(paso.getId(), Duration.ZERO));
+                    fases.merge("resto de beans (tiempo propio)", propio, Duration::plus);
+                    beans.merge(bean, propio, Duration::plus);
+                }
+            }
+        }
+        
+        System.out.println();
+        System.out.printf("%-40s %10s%n", "fase", "ms");
+        System.out.printf("%-40s %10.1f%n", "arranque completo (SpringApplication.run)", milis(total));
+        fases.forEach((fase, duracion) -> System.out.printf("%-40s %10.1f%n", fase, milis(duracion)));
+        
+        System.out.println();
+        System.out.printf("%-60s %10s%n", "beans con más tiempo propio", "ms");
+        beans.entrySet().stream()
+            .sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()))
+            .limit(BEANS_MAS_LENTOS)
+            .forEach(bean -> System.out.printf("%-60s %10.1f%n", bean.getKey(), milis(bean.getValue())));
+    }
+    
+    private static String etiqueta(StartupStep paso, String clave) {
+        for (StartupStep.Tag tag : paso.getTags()) {
+            if (clave.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "";
+    }
+    
+    private static double milis(Duration duracion) {
+        return duracion.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada del jar de benchmarks
+ * 
+ * Acepta los mismos argumentos que la línea de comandos de JMH
+ * (filtro por nombre, -f, -wi, -i, -rf json...) y siempre añade el
+ * profiler de GC, de modo que cada resultado incluye bytes asignados
+ * por operación (gc.alloc.rate.norm) además del throughput.
+ */
+public class EjecutorBenchmarks {
+    
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaComandos = new CommandLineOptions(args);
+        
+        OptionsBuilder opciones = new OptionsBuilder();
+        opciones.parent(lineaComandos);
+        
+        // Evitar registrar dos veces el profiler si ya se pasó -prof gc
+        boolean gcYaIncluido = lineaComandos.getProfilers().stream()
+            .anyMatch(p -> p.getKlass().equals(GCProfiler.class.getName()) || p.getKlass().equals("gc"));
+        if (!gcYaIncluido) {
+            opciones.addProfiler(GCProfiler.class);
+        }
+        
+        Options opcionesFinales = opciones.build();
+        new Runner(opcionesFinales).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ejecuta CrearUsuarioBenchmark con 1, 4, 16 y 64 hilos concurrentes
+ * 
+ * Al final imprime una tabla por backend, email y número de hilos con
+ * operaciones por segundo y latencias p50/p99/p99.9 en microsegundos.
+ * 
+ * Uso: java -cp target/benchmarks.jar com.example.benchmark.EjecutorConcurrenciaCrearUsuario
+ */
+public class EjecutorConcurrenciaCrearUsuario {
+    
+    private static final int[] HILOS = {1, 4, 16, 64};
+    
+    public static void main(String[] args) throws Exception {
+        List<String> filas = new ArrayList<>();
+        
+        for (int hilos : HILOS) {
+            Options opciones = new OptionsBuilder()
+                .include(CrearUsuarioBenchmark.class.getName() + ".crearUsuario$")
+                .threads(hilos)
+                .build();
+            
+            Collection<RunResult> resultados = new Runner(opciones).run();
+            for (RunResult resultado : resultados) {
+                filas.add(formatear(hilos, resultado));
+            }
+        }
+        
+        System.out.println();
+        System.out.printf("%-8s %-6s %-6s %-10s %14s %12s %12s %12s%n",
+            "backend", "email", "hilos", "modo", "ops/s", "p50 (us)", "p99 (us)", "p99.9 (us)");
+        filas.forEach(System.out::println);
+    }
+    
+    private static String formatear(int hilos, RunResult resultado) {
+        BenchmarkResult agregado = resultado.getAggregatedResult();
+        Result<?> primario = agregado.getPrimaryResult();
+        String backend = resultado.getParams().getParam("backend");
+        String email = resultado.getParams().getParam("email");
+        String modo = resultado.getParams().getMode().shortLabel();
+        
+        if ("sample".equals(modo)) {
+            Statistics estadisticas = primario.getStatistics();
+            return String.format("%-8s %-6s %-6d %-10s %14s %12.1f %12.1f %12.1f",
+                backend, email, hilos, modo, "",
+                estadisticas.getPercentile(50),
+                estadisticas.getPercentile(99),
+                estadisticas.getPercentile(99.9));
+        }
+        
+        // Throughput en ops/us -> ops/s
+        return String.format("%-8s %-6s %-6d %-10s %14.0f", backend, email, hilos, modo,
+            primario.getScore() * 1_000_000);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.benchmark;
+
+import com.example.model.Usuario;
+import com.example.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de construcción y envío de mensajes en EmailService
+ * 
+ * Cada email de bienvenida llama dos veces a getNombreFormateado(),
+ * concatena varios strings y esEmailValido() recompila su expresión
+ * regular en cada llamada. Estos benchmarks fijan la línea base de
+ * throughput y de bytes asignados por llamada (gc.alloc.rate.norm).
+ * 
+ * Los métodos enviarEmail* escriben en System.out; durante la medición
+ * se redirige a un flujo vacío para conservar el coste de formatear y
+ * codificar el texto sin depender de la consola.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EmailServiceBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Datos {
+        
+        // Potencia de 2 para poder recorrer con una máscara
+        static final int TAMANO = 1024;
+        
+        private static final String[] NOMBRES = {
+            "juan pérez", "MARÍA GARCÍA", "  ana lópez  ", "pEdRo MaRtÍnEz",
+            "carmen", "JOSÉ ANTONIO FERNÁNDEZ DE LA TORRE", "   "
+        };
+        
+        private static final String[] EMAILS_INVALIDOS = {
+            "sin-arroba.com", "usuario@", "@dominio.com", "usuario@dominio", "usuario @dominio.com", ""
+        };
+        
+        EmailService emailService;
+        Usuario[] usuarios;
+        String[] emails;
+        
+        private PrintStream salidaOriginal;
+        
+        @Setup(Level.Trial)
+        public void preparar() {
+            emailService = new EmailService();
+            Random random = new Random(42);
+            usuarios = new Usuario[TAMANO];
+            emails = new String[TAMANO];
+            
+            for (int i = 0; i < TAMANO; i++) {
+                String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+                // Mitad mayores y mitad menores de edad, para recorrer ambas ramas del mensaje
+                Integer edad = random.nextBoolean() ? 18 + random.nextInt(70) : random.nextInt(18);
+                usuarios[i] = new Usuario(nombre, "usuario" + i + "@example.com", edad);
+                
+                // Unos tres de cada cuatro emails son válidos; algunos muy largos
+                if (random.nextInt(4) == 0) {
+                    emails[i] = EMAILS_INVALIDOS[random.nextInt(EMAILS_INVALIDOS.length)];
+                } else if (random.nextInt(10) == 0) {
+                    emails[i] = "nombre.apellido.segundo.apellido.departamento" + i
+                        + "@subdominio.empresa-con-nombre-largo.com.ar";
+                } else {
+                    emails[i] = "usuario" + i + "@example.com";
+                }
+            }
+            
+            salidaOriginal = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        
+        @TearDown(Level.Trial)
+        public void restaurar() {
+            System.setOut(salidaOriginal);
+        }
+    }
+    
+    /**
+     * Posición de cada hilo dentro del conjunto de datos
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int indice;
+        
+        int siguiente() {
+            indice = (indice + 1) & (Datos.TAMANO - 1);
+            return indice;
+        }
+    }
+    
+    @Benchmark
+    public String construirMensajeBienvenida(Datos datos, Cursor cursor) {
+        return datos.emailService.construirMensajeBienvenida(datos.usuarios[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public void enviarEmailBienvenida(Datos datos, Cursor cursor) {
+        datos.emailService.enviarEmailBienvenida(datos.usuarios[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public void enviarEmailDespedida(Datos datos, Cursor cursor) {
+        datos.emailService.enviarEmailDespedida(datos.usuarios[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public boolean esEmailValido(Datos datos, Cursor cursor) {
+        return datos.emailService.esEmailValido(datos.emails[cursor.siguiente()]);
+    }
+}
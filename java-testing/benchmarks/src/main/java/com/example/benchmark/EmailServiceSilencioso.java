@@ -0,0 +1,42 @@
+package com.example.benchmark;
+
+import com.example.model.Usuario;
+import com.example.service.EmailService;
+
+/**
+ * EmailService que hace todo el trabajo del real salvo escribir en consola
+ * 
+ * Valida el usuario y construye asunto y mensaje igual que el servicio
+ * real, pero en lugar de volcarlos a System.out suma su longitud (para
+ * que el JIT no elimine la construcción). Así el benchmark mide el coste
+ * del email sin redirigir la salida estándar de toda la JVM.
+ */
+public class EmailServiceSilencioso extends EmailService {
+    
+    // Sin sincronizar: solo sirve para que el resultado se use
+    private long caracteres;
+    
+    @Override
+    public void enviarEmailBienvenida(Usuario usuario) {
+        if (usuario == null || usuario.getEmail() == null) {
+            throw new IllegalArgumentException("Usuario o email no válido");
+        }
+        
+        String asunto = "¡Bienvenido " + usuario.getNombreFormateado() + "!";
+        String mensaje = construirMensajeBienvenida(usuario);
+        caracteres += asunto.length() + mensaje.length();
+    }
+    
+    @Override
+    public void enviarEmailDespedida(Usuario usuario) {
+        if (usuario == null || usuario.getEmail() == null) {
+            throw new IllegalArgumentException("Usuario o email no válido");
+        }
+        
+        caracteres += usuario.getNombreFormateado().length();
+    }
+    
+    public long getCaracteres() {
+        return caracteres;
+    }
+}
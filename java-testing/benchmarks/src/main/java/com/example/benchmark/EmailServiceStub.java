@@ -0,0 +1,23 @@
+package com.example.benchmark;
+
+import com.example.model.Usuario;
+import com.example.service.EmailService;
+
+/**
+ * EmailService que no hace nada
+ * 
+ * Sustituye al servicio real en los benchmarks para aislar
+ * el coste de persistencia del coste de construir y enviar emails.
+ */
+public class EmailServiceStub extends EmailService {
+    
+    @Override
+    public void enviarEmailBienvenida(Usuario usuario) {
+        // Sin envío
+    }
+    
+    @Override
+    public void enviarEmailDespedida(Usuario usuario) {
+        // Sin envío
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.benchmark;
+
+import com.example.model.Usuario;
+import org.h2.jdbcx.JdbcDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generador reproducible de usuarios sintéticos a gran escala
+ * 
+ * Con la misma semilla produce exactamente la misma secuencia de usuarios,
+ * de modo que dos ejecuciones de un benchmark miden sobre la misma tabla.
+ * Las distribuciones imitan una base de usuarios real:
+ * - nombres de 2 a 4 palabras (nombre, a veces compuesto, y uno o dos
+ *   apellidos) con mayúsculas/minúsculas mezcladas y espacios alrededor
+ *   en una parte de las filas
+ * - dominios de email con unos pocos proveedores muy frecuentes y una
+ *   cola larga de dominios corporativos
+ * - edades en torno a los 35 años, con menores y un porcentaje de null
+ * - fechas de registro repartidas en varios años, más densas cerca del
+ *   presente (la base crece)
+ * - un porcentaje configurable de usuarios inactivos
+ * 
+ * Los emails incluyen el índice de la fila, así que nunca chocan con el
+ * índice único aunque se generen millones.
+ * 
+ * CARGA:
+ * cargar() inserta por lotes JDBC con la conexión en modo transaccional,
+ * sin pasar por JPA: varios millones de filas tardan segundos en H2.
+ * Conviene pasarle el DataSource real y no el envuelto por datasource-proxy,
+ * que guarda los parámetros de cada lote.
+ * 
+ * Uso desde línea de comandos (crea la tabla y la secuencia si no existen):
+ * java -cp target/benchmarks.jar com.example.benchmark.GeneradorUsuarios \
+ *     [filas] [semilla] [url jdbc]
+ */
+public class GeneradorUsuarios {
+    
+    public static final long SEMILLA_POR_DEFECTO = 42L;
+    
+    static final int TAMANO_LOTE = 5_000;
+    static final int LOTES_POR_COMMIT = 20;
+    
+    // Cada fila consume un valor de usuarios_seq: no choca con las reservas
+    // del optimizador pooled de Hibernate, aunque deja huecos en los ids
+    private static final String INSERT = "INSERT INTO usuarios (id, nombre, email, edad, activo, fecha_registro)"
+        + " VALUES (NEXT VALUE FOR usuarios_seq, ?, ?, ?, ?, ?)";
+    
+    private static final String CREAR_SECUENCIA = "CREATE SEQUENCE IF NOT EXISTS usuarios_seq"
+        + " START WITH 1 INCREMENT BY " + Usuario.IDS_POR_RESERVA;
+    
+    private static final String CREAR_TABLA = "CREATE TABLE IF NOT EXISTS usuarios ("
+        + "id BIGINT PRIMARY KEY, "
+        + "nombre VARCHAR(100) NOT NULL, "
+        + "email VARCHAR(150) NOT NULL, "
+        + "edad INTEGER, "
+        + "activo BOOLEAN, "
+        + "fecha_registro TIMESTAMP, "
+        + "CONSTRAINT " + Usuario.RESTRICCION_EMAIL_UNICO + " UNIQUE (email))";
+    
+    private static final String[] NOMBRES = {
+        "juan", "maría", "josé", "ana", "luis", "carmen", "antonio", "laura", "francisco", "lucía",
+        "manuel", "marta", "david", "elena", "javier", "paula", "daniel", "sara", "carlos", "isabel",
+        "miguel", "cristina", "rafael", "pilar", "pedro", "raquel", "ángel", "beatriz", "pablo", "nuria",
+        "alejandro", "inés", "sergio", "rocío", "fernando", "julia", "jorge", "andrea", "alberto", "sofía"
+    };
+    
+    private static final String[] APELLIDOS = {
+        "garcía", "rodríguez", "gonzález", "fernández", "lópez", "martínez", "sánchez", "pérez",
+        "gómez", "martín", "jiménez", "ruiz", "hernández", "díaz", "moreno", "muñoz", "álvarez",
+        "romero", "alonso", "gutiérrez", "navarro", "torres", "domínguez", "vázquez", "ramos",
+        "gil", "ramírez", "serrano", "blanco", "molina", "de la torre", "del río", "castillo"
+    };
+    
+    // Proveedores frecuentes (acumulado en %) y cola de dominios corporativos
+    private static final String[] DOMINIOS_FRECUENTES = {
+        "gmail.com", "hotmail.com", "yahoo.es", "outlook.com", "icloud.com"
+    };
+    private static final int[] PESO_ACUMULADO_FRECUENTES = {38, 56, 64, 72, 76};
+    
+    private static final String[] PREFIJOS_CORPORATIVOS = {
+        "empresa", "consultora", "grupo", "industrias", "servicios", "universidad", "ayuntamiento"
+    };
+    private static final String[] SUFIJOS_CORPORATIVOS = {".com", ".es", ".com.ar", ".edu.es", ".org"};
+    private static final int DOMINIOS_CORPORATIVOS = 2_000;
+    
+    private final long semilla;
+    private final LocalDateTime fechaReferencia;
+    private double proporcionActivos = 0.85;
+    private double proporcionEdadNull = 0.08;
+    private double proporcionNombreDesordenado = 0.25;
+    private int anosDeRegistro = 8;
+    
+    private SplittableRandom random;
+    private long siguienteIndice;
+    
+    /**
+     * @param semilla semilla de la secuencia
+     * @param fechaReferencia "hoy" del conjunto de datos; se fija para que las
+     *                        fechas de registro no dependan de cuándo se genera
+     */
+    public GeneradorUsuarios(long semilla, LocalDateTime fechaReferencia) {
+        this.semilla = semilla;
+        this.fechaReferencia = fechaReferencia;
+        reiniciar();
+    }
+    
+    public GeneradorUsuarios(long semilla) {
+        this(semilla, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+    
+    public GeneradorUsuarios proporcionActivos(double proporcion) {
+        this.proporcionActivos = proporcion;
+        return this;
+    }
+    
+    public GeneradorUsuarios proporcionEdadNull(double proporcion) {
+        this.proporcionEdadNull = proporcion;
+        return this;
+    }
+    
+    /**
+     * Filas con el nombre en mayúsculas, minúsculas mezcladas o con espacios
+     */
+    public GeneradorUsuarios proporcionNombreDesordenado(double proporcion) {
+        this.proporcionNombreDesordenado = proporcion;
+        return this;
+    }
+    
+    public GeneradorUsuarios anosDeRegistro(int anos) {
+        this.anosDeRegistro = anos;
+        return this;
+    }
+    
+    /**
+     * Vuelve al principio de la secuencia
+     */
+    public final void reiniciar() {
+        random = new SplittableRandom(semilla);
+        siguienteIndice = 0;
+    }
+    
+    /**
+     * Siguiente usuario de la secuencia, sin id
+     */
+    public Usuario siguiente() {
+        long indice = siguienteIndice++;
+        
+        String nombre = nombre();
+        Usuario usuario = new Usuario(presentar(nombre), email(nombre, indice), edad());
+        usuario.setActivo(random.nextDouble() < proporcionActivos);
+        usuario.setFechaRegistro(fechaRegistro());
+        return usuario;
+    }
+    
+    /**
+     * Inserta las siguientes filas de la secuencia en la tabla usuarios
+     * 
+     * @return milisegundos empleados
+     */
+    public long cargar(DataSource dataSource, long filas) throws SQLException {
+        long inicio = System.nanoTime();
+        
+        try (Connection conexion = dataSource.getConnection()) {
+            boolean autoCommitOriginal = conexion.getAutoCommit();
+            conexion.setAutoCommit(false);
+            
+            try (PreparedStatement sentencia = conexion.prepareStatement(INSERT)) {
+                int enLote = 0;
+                int lotes = 0;
+                for (long i = 0; i < filas; i++) {
+                    Usuario usuario = siguiente();
+                    sentencia.setString(1, usuario.getNombre());
+                    sentencia.setString(2, usuario.getEmail());
+                    if (usuario.getEdad() == null) {
+                        sentencia.setNull(3, Types.INTEGER);
+                    } else {
+                        sentencia.setInt(3, usuario.getEdad());
+                    }
+                    sentencia.setBoolean(4, usuario.getActivo());
+                    sentencia.setTimestamp(5, Timestamp.valueOf(usuario.getFechaRegistro()));
+                    sentencia.addBatch();
+                    
+                    if (++enLote == TAMANO_LOTE) {
+                        sentencia.executeBatch();
+                        enLote = 0;
+                        if (++lotes % LOTES_POR_COMMIT == 0) {
+                            conexion.commit();
+                        }
+                    }
+                }
+                if (enLote > 0) {
+                    sentencia.executeBatch();
+                }
+                conexion.commit();
+            } catch (SQLException e) {
+                conexion.rollback();
+                throw e;
+            } finally {
+                conexion.setAutoCommit(autoCommitOriginal);
+            }
+        }
+        
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+    
+    private String nombre() {
+        StringBuilder nombre = new StringBuilder(elegir(NOMBRES));
+        // Uno de cada cinco con nombre compuesto
+        if (random.nextInt(5) == 0) {
+            nombre.append(' ').append(elegir(NOMBRES));
+        }
+        nombre.append(' ').append(elegir(APELLIDOS));
+        // La mayoría con segundo apellido
+        if (random.nextInt(10) < 7) {
+            nombre.append(' ').append(elegir(APELLIDOS));
+        }
+        return nombre.toString();
+    }
+    
+    /**
+     * Forma en que el usuario escribió su nombre
+     */
+    private String presentar(String nombre) {
+        if (random.nextDouble() >= proporcionNombreDesordenado) {
+            return capitalizar(nombre);
+        }
+        switch (random.nextInt(4)) {
+            case 0:
+                return nombre.toUpperCase(Locale.ROOT);
+            case 1:
+                return nombre;
+            case 2:
+                return "  " + capitalizar(nombre) + "  ";
+            default:
+                return alternarMayusculas(nombre);
+        }
+    }
+    
+    private String email(String nombre, long indice) {
+        String local = Normalizer.normalize(nombre, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .replace(' ', '.');
+        return local + "." + indice + "@" + dominio();
+    }
+    
+    private String dominio() {
+        int sorteo = random.nextInt(100);
+        for (int i = 0; i < DOMINIOS_FRECUENTES.length; i++) {
+            if (sorteo < PESO_ACUMULADO_FRECUENTES[i]) {
+                return DOMINIOS_FRECUENTES[i];
+            }
+        }
+        int corporativo = random.nextInt(DOMINIOS_CORPORATIVOS);
+        return PREFIJOS_CORPORATIVOS[corporativo % PREFIJOS_CORPORATIVOS.length] + corporativo
+            + SUFIJOS_CORPORATIVOS[corporativo % SUFIJOS_CORPORATIVOS.length];
+    }
+    
+    private Integer edad() {
+        if (random.nextDouble() < proporcionEdadNull) {
+            return null;
+        }
+        // Aproximadamente normal (media 35, desviación 14) acotada a 0..99
+        double suma = 0;
+        for (int i = 0; i < 4; i++) {
+            suma += random.nextDouble();
+        }
+        int edad = (int) Math.round(35 + (suma - 2.0) * 14 * Math.sqrt(3));
+        return Math.max(0, Math.min(99, edad));
+    }
+    
+    private LocalDateTime fechaRegistro() {
+        long segundosTotales = anosDeRegistro * 365L * 24 * 3600;
+        // La raíz concentra los registros cerca de la fecha de referencia
+        long hace = (long) (segundosTotales * (1 - Math.sqrt(random.nextDouble())));
+        return fechaReferencia.minusSeconds(hace);
+    }
+    
+    private String elegir(String[] opciones) {
+        return opciones[random.nextInt(opciones.length)];
+    }
+    
+    private static String capitalizar(String nombre) {
+        StringBuilder resultado = new StringBuilder(nombre.length());
+        boolean inicioPalabra = true;
+        for (char c : nombre.toCharArray()) {
+            resultado.append(inicioPalabra ? Character.toUpperCase(c) : c);
+            inicioPalabra = c == ' ';
+        }
+        return resultado.toString();
+    }
+    
+    private static String alternarMayusculas(String nombre) {
+        StringBuilder resultado = new StringBuilder(nombre.length());
+        for (int i = 0; i < nombre.length(); i++) {
+            char c = nombre.charAt(i);
+            resultado.append(i % 2 == 0 ? Character.toLowerCase(c) : Character.toUpperCase(c));
+        }
+        return resultado.toString();
+    }
+    
+    public static void main(String[] args) throws SQLException {
+        long filas = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : SEMILLA_POR_DEFECTO;
+        String url = args.length > 2 ? args[2] : "jdbc:h2:file:./target/usuarios-sinteticos";
+        
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        
+        try (Connection conexion = dataSource.getConnection();
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute(CREAR_SECUENCIA);
+            sentencia.execute(CREAR_TABLA);
+        }
+        
+        long ms = new GeneradorUsuarios(semilla).cargar(dataSource, filas);
+        System.out.printf("%d usuarios cargados en %s en %d ms (%.0f filas/s)%n",
+            filas, url, ms, filas * 1000.0 / Math.max(1, ms));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.benchmark;
+
+import com.example.JavaTestingApplication;
+import com.example.model.Usuario;
+import com.example.repository.UsuarioRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Huella en heap de Usuario y de las listas que devuelve UsuarioRepository
+ * 
+ * Para un Usuario suelto muestra el layout de la clase (JOL) y el grafo
+ * retenido: los Long/Integer/Boolean en caja, el LocalDateTime (con su
+ * LocalDate y LocalTime) y los String.
+ * 
+ * Para findByActivoTrue() y findAll() con 10k, 100k y 1M filas mide:
+ * - copias desacopladas: el grafo de la lista con JOL, una vez cerrada la
+ *   transacción
+ * - entidades gestionadas: la diferencia de heap dentro de la transacción,
+ *   con el contexto de persistencia abierto; incluye EntityEntry, EntityKey
+ *   y la instantánea (loadedState) que Hibernate guarda para el dirty checking
+ * 
+ * Las diferencias de heap son aproximadas (dependen del GC); el grafo JOL
+ * es exacto pero no ve el contexto de persistencia. La tabla se rellena
+ * con GeneradorUsuarios (semilla fija, 85% de activos).
+ * 
+ * Uso (necesita heap de sobra para 1M entidades gestionadas):
+ * java -Xmx6g -Djdk.attach.allowAttachSelf=true -cp target/benchmarks.jar \
+ *     com.example.benchmark.HuellaMemoriaUsuarios [filas separadas por comas]
+ */
+public class HuellaMemoriaUsuarios {
+    
+    private static final int[] FILAS_POR_DEFECTO = {10_000, 100_000, 1_000_000};
+    
+    public static void main(String[] args) throws Exception {
+        int[] tamanos = args.length > 0 ? leerTamanos(args[0]) : FILAS_POR_DEFECTO;
+        
+        System.out.println(VM.current().details());
+        imprimirUsuarioSuelto();
+        
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(JavaTestingApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .run();
+        try {
+            UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+            TransactionTemplate transaccion =
+                new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+            // Carga directa sobre el pool, sin el proxy JDBC de observabilidad
+            DataSource dataSource = contexto.getBean(DataSource.class).unwrap(HikariDataSource.class);
+            GeneradorUsuarios generador = new GeneradorUsuarios(GeneradorUsuarios.SEMILLA_POR_DEFECTO);
+            
+            imprimirUsuarioGestionado(usuarioRepository, transaccion, generador, dataSource);
+            
+            List<String> filas = new ArrayList<>();
+            long cargadas = usuarioRepository.count();
+            for (int tamano : tamanos) {
+                generador.cargar(dataSource, tamano - cargadas);
+                cargadas = tamano;
+                
+                filas.add(medir("findByActivoTrue", tamano, transaccion, usuarioRepository::findByActivoTrue));
+                filas.add(medir("findAll", tamano, transaccion, usuarioRepository::findAll));
+            }
+            
+            System.out.println();
+            System.out.printf("%-18s %10s %10s %16s %14s %16s %14s%n", "consulta", "tabla", "filas",
+                "desacopl. (JOL)", "bytes/fila", "gestionadas (~)", "bytes/fila");
+            filas.forEach(System.out::println);
+        } finally {
+            contexto.close();
+        }
+    }
+    
+    private static void imprimirUsuarioSuelto() {
+        Usuario usuario = new Usuario("María García López", "maria.garcia.1@gmail.com", 34);
+        usuario.setId(1L);
+        
+        System.out.println(ClassLayout.parseInstance(usuario).toPrintable());
+        System.out.println(GraphLayout.parseInstance(usuario).toFootprint());
+    }
+    
+    private static void imprimirUsuarioGestionado(UsuarioRepository usuarioRepository, TransactionTemplate transaccion,
+                                                  GeneradorUsuarios generador, DataSource dataSource) throws Exception {
+        generador.cargar(dataSource, 1);
+        Long id = usuarioRepository.findAll().get(0).getId();
+        
+        long antes = memoriaUsada();
+        transaccion.executeWithoutResult(estado -> {
+            Usuario usuario = usuarioRepository.findById(id).orElseThrow();
+            System.out.printf("Usuario gestionado: grafo JOL %d bytes, heap con contexto de persistencia ~%d bytes%n%n",
+                GraphLayout.parseInstance(usuario).totalSize(), memoriaUsada() - antes);
+        });
+    }
+    
+    private static String medir(String consulta, int tabla, TransactionTemplate transaccion,
+                                Supplier<List<Usuario>> ejecutar) {
+        long base = memoriaUsada();
+        long[] gestionadas = new long[1];
+        
+        // Dentro de la transacción las entidades siguen en el contexto de persistencia;
+        // no es de solo lectura, así que Hibernate guarda la instantánea de cada fila
+        List<Usuario> resultado = transaccion.execute(estado -> {
+            List<Usuario> lista = ejecutar.get();
+            gestionadas[0] = memoriaUsada() - base;
+            return lista;
+        });
+        
+        // Al terminar la transacción quedan desacopladas: solo las retiene la lista
+        long desacopladasJol = GraphLayout.parseInstance(resultado).totalSize();
+        int filas = resultado.size();
+        long porFila = filas > 0 ? desacopladasJol / filas : 0;
+        long gestionadasPorFila = filas > 0 ? gestionadas[0] / filas : 0;
+        
+        return String.format("%-18s %10d %10d %16d %14d %16d %14d",
+            consulta, tabla, filas, desacopladasJol, porFila, gestionadas[0], gestionadasPorFila);
+    }
+    
+    /**
+     * Heap usado tras forzar varios GC seguidos hasta que se estabiliza
+     */
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        long anterior = Long.MAX_VALUE;
+        long actual = runtime.totalMemory() - runtime.freeMemory();
+        for (int i = 0; i < 10 && actual < anterior; i++) {
+            System.gc();
+            anterior = actual;
+            actual = runtime.totalMemory() - runtime.freeMemory();
+        }
+        return actual;
+    }
+    
+    private static int[] leerTamanos(String texto) {
+        String[] partes = texto.split(",");
+        int[] tamanos = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            tamanos[i] = Integer.parseInt(partes[i].trim());
+        }
+        return tamanos;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.benchmark;
+
+import com.example.model.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los métodos de dominio de Usuario
+ * 
+ * Estos métodos se ejecutan por cada fila que se lista o renderiza,
+ * así que medimos su throughput y sus asignaciones por llamada
+ * (el profiler de GC lo añade EjecutorBenchmarks).
+ * 
+ * DATOS DE ENTRADA:
+ * Se construye un conjunto fijo (semilla constante) de usuarios variados:
+ * nombres en mayúsculas/minúsculas mezcladas, con espacios alrededor,
+ * nombres vacíos, edades null y emails largos. Cada invocación toma el
+ * siguiente usuario del conjunto para que el JIT no pueda plegar constantes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UsuarioBenchmark {
+    
+    /**
+     * Conjunto de usuarios de entrada, compartido por todos los hilos
+     */
+    @State(Scope.Benchmark)
+    public static class Datos {
+        
+        // Potencia de 2 para poder recorrer con una máscara
+        static final int TAMANO = 1024;
+        
+        private static final String[] NOMBRES = {
+            "juan pérez", "MARÍA GARCÍA", "  ana lópez  ", "pEdRo MaRtÍnEz",
+            "\tLuis\t", "carmen", "JOSÉ ANTONIO FERNÁNDEZ DE LA TORRE", "   ", ""
+        };
+        
+        private static final String[] DOMINIOS = {
+            "example.com", "gmail.com", "empresa-con-nombre-largo.com.ar",
+            "departamento.universidad.edu.es"
+        };
+        
+        Usuario[] usuarios;
+        Usuario[] copias;
+        
+        @Setup(Level.Trial)
+        public void preparar() {
+            Random random = new Random(42);
+            usuarios = new Usuario[TAMANO];
+            copias = new Usuario[TAMANO];
+            
+            for (int i = 0; i < TAMANO; i++) {
+                String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+                String email = construirEmail(random, i);
+                // Aproximadamente un 15% de edades desconocidas
+                Integer edad = random.nextInt(100) < 15 ? null : random.nextInt(90);
+                
+                Usuario usuario = new Usuario(nombre, email, edad);
+                usuario.setId((long) i + 1);
+                usuario.setFechaRegistro(LocalDateTime.now().minusDays(random.nextInt(3650)));
+                usuarios[i] = usuario;
+                
+                // Copia con el mismo id y email para que equals() recorra todos los campos
+                Usuario copia = new Usuario(nombre, email, edad);
+                copia.setId(usuario.getId());
+                copias[i] = copia;
+            }
+        }
+        
+        private static String construirEmail(Random random, int indice) {
+            String dominio = DOMINIOS[random.nextInt(DOMINIOS.length)];
+            if (random.nextInt(10) == 0) {
+                // Email largo, cercano al límite de 150 caracteres de la columna
+                StringBuilder local = new StringBuilder();
+                while (local.length() < 100) {
+                    local.append("nombre.apellido");
+                }
+                return local.toString() + indice + "@" + dominio;
+            }
+            return "usuario" + indice + "@" + dominio;
+        }
+    }
+    
+    /**
+     * Posición de cada hilo dentro del conjunto de datos
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int indice;
+        
+        int siguiente() {
+            indice = (indice + 1) & (Datos.TAMANO - 1);
+            return indice;
+        }
+    }
+    
+    @Benchmark
+    public boolean tieneEmailValido(Datos datos, Cursor cursor) {
+        return datos.usuarios[cursor.siguiente()].tieneEmailValido();
+    }
+    
+    @Benchmark
+    public String getNombreFormateado(Datos datos, Cursor cursor) {
+        return datos.usuarios[cursor.siguiente()].getNombreFormateado();
+    }
+    
+    @Benchmark
+    public boolean esMayorDeEdad(Datos datos, Cursor cursor) {
+        return datos.usuarios[cursor.siguiente()].esMayorDeEdad();
+    }
+    
+    /**
+     * getAñosDesdeRegistro(); el nombre del benchmark evita la ñ porque
+     * JMH lo usa para generar nombres de clase y ficheros
+     */
+    @Benchmark
+    public long getAnosDesdeRegistro(Datos datos, Cursor cursor) {
+        return datos.usuarios[cursor.siguiente()].getAñosDesdeRegistro();
+    }
+    
+    @Benchmark
+    public boolean equalsMismoUsuario(Datos datos, Cursor cursor) {
+        int i = cursor.siguiente();
+        return datos.usuarios[i].equals(datos.copias[i]);
+    }
+    
+    @Benchmark
+    public int hashCodeUsuario(Datos datos, Cursor cursor) {
+        return datos.usuarios[cursor.siguiente()].hashCode();
+    }
+    
+    @Benchmark
+    public String toStringUsuario(Datos datos, Cursor cursor) {
+        return datos.usuarios[cursor.siguiente()].toString();
+    }
+}
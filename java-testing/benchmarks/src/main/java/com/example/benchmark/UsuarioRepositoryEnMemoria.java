@@ -0,0 +1,145 @@
+package com.example.benchmark;
+
+import com.example.model.ConteosUsuarios;
+import com.example.model.Usuario;
+import com.example.repository.UsuarioRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Sustituto en memoria de UsuarioRepository respaldado por mapas concurrentes
+ * 
+ * Permite medir el coste propio de UsuarioService sin base de datos.
+ * Se implementa con un proxy dinámico para no tener que escribir todos los
+ * métodos heredados de JpaRepository: solo se atienden los que usa el
+ * servicio y el resto lanza UnsupportedOperationException.
+ * 
+ * Igual que la restricción única de la tabla, un segundo usuario con el
+ * mismo email provoca DataIntegrityViolationException al guardar.
+ */
+public final class UsuarioRepositoryEnMemoria implements InvocationHandler {
+    
+    private final Map<Long, Usuario> porId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idPorEmail = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    
+    private UsuarioRepositoryEnMemoria() {
+    }
+    
+    /**
+     * Crea un repositorio vacío
+     */
+    public static UsuarioRepository crear() {
+        return (UsuarioRepository) Proxy.newProxyInstance(
+            UsuarioRepository.class.getClassLoader(),
+            new Class<?>[] {UsuarioRepository.class},
+            new UsuarioRepositoryEnMemoria());
+    }
+    
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "existsByEmail":
+                return idPorEmail.containsKey((String) args[0]);
+            case "save":
+            case "saveAndFlush":
+                return guardar((Usuario) args[0]);
+            case "findById":
+                return Optional.ofNullable(porId.get((Long) args[0]));
+            case "existsById":
+                return porId.containsKey((Long) args[0]);
+            case "findByEmail":
+                return Optional.ofNullable(idPorEmail.get((String) args[0])).map(porId::get);
+            case "deleteById":
+                Usuario eliminado = porId.remove((Long) args[0]);
+                if (eliminado != null) {
+                    idPorEmail.remove(eliminado.getEmail());
+                }
+                return null;
+            case "deleteAll":
+            case "deleteAllInBatch":
+                if (args == null || args.length == 0) {
+                    porId.clear();
+                    idPorEmail.clear();
+                    return null;
+                }
+                break;
+            case "count":
+                return (long) porId.size();
+            case "countByActivoTrue":
+                return porId.values().stream().filter(u -> Boolean.TRUE.equals(u.getActivo())).count();
+            case "countEstadisticas":
+                return contarEstadisticas();
+            case "findAll":
+                if (args == null || args.length == 0) {
+                    return new ArrayList<>(porId.values());
+                }
+                break;
+            case "findByActivoTrue":
+                return filtrar(u -> Boolean.TRUE.equals(u.getActivo()));
+            case "findUsuariosMayoresDeEdad":
+                return filtrar(Usuario::esMayorDeEdad);
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "UsuarioRepositoryEnMemoria[" + porId.size() + " usuarios]";
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException("No soportado en memoria: " + method);
+    }
+    
+    private Usuario guardar(Usuario usuario) {
+        if (usuario.getId() == null) {
+            Long id = secuencia.incrementAndGet();
+            if (idPorEmail.putIfAbsent(usuario.getEmail(), id) != null) {
+                throw new DataIntegrityViolationException(
+                    "Violación de restricción única " + Usuario.RESTRICCION_EMAIL_UNICO + ": " + usuario.getEmail());
+            }
+            usuario.setId(id);
+        } else {
+            Usuario anterior = porId.get(usuario.getId());
+            if (anterior != null && !anterior.getEmail().equals(usuario.getEmail())) {
+                idPorEmail.remove(anterior.getEmail());
+                idPorEmail.put(usuario.getEmail(), usuario.getId());
+            }
+        }
+        porId.put(usuario.getId(), usuario);
+        return usuario;
+    }
+    
+    private ConteosUsuarios contarEstadisticas() {
+        long total = 0, activos = 0, mayoresEdad = 0, activosMayoresEdad = 0, sinEdad = 0;
+        for (Usuario usuario : porId.values()) {
+            boolean activo = Boolean.TRUE.equals(usuario.getActivo());
+            total++;
+            activos += activo ? 1 : 0;
+            mayoresEdad += usuario.esMayorDeEdad() ? 1 : 0;
+            activosMayoresEdad += activo && usuario.esMayorDeEdad() ? 1 : 0;
+            sinEdad += usuario.getEdad() == null ? 1 : 0;
+        }
+        return new ConteosUsuarios(total, activos, mayoresEdad, activosMayoresEdad, sinEdad);
+    }
+    
+    private List<Usuario> filtrar(Predicate<Usuario> filtro) {
+        List<Usuario> resultado = new ArrayList<>();
+        for (Usuario usuario : porId.values()) {
+            if (filtro.test(usuario)) {
+                resultado.add(usuario);
+            }
+        }
+        return resultado;
+    }
+}
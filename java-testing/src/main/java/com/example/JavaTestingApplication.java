@@ -0,0 +1,21 @@
+package com.example;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aplicación Spring Boot del proyecto de ejemplo
+ * 
+ * Levanta el contexto completo (JPA sobre H2, repositorios y servicios)
+ * para benchmarks y pruebas de integración. La planificación de tareas
+ * se usa para reconciliar ContadoresUsuarios con la base de datos.
+ */
+@SpringBootApplication
+@EnableScheduling
+public class JavaTestingApplication {
+    
+    public static void main(String[] args) {
+        SpringApplication.run(JavaTestingApplication.class, args);
+    }
+}
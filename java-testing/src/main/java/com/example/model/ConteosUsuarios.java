@@ -0,0 +1,44 @@
+package com.example.model;
+
+/**
+ * Recuentos de la tabla usuarios calculados en una sola consulta
+ * 
+ * Lo construye UsuarioRepository.countEstadisticas() con SELECT new;
+ * los recuentos parciales son COUNT(CASE ...) sobre la misma pasada.
+ */
+public class ConteosUsuarios {
+    
+    private final long total;
+    private final long activos;
+    private final long mayoresEdad;
+    private final long activosMayoresEdad;
+    private final long sinEdad;
+    
+    public ConteosUsuarios(Long total, Long activos, Long mayoresEdad, Long activosMayoresEdad, Long sinEdad) {
+        this.total = total;
+        this.activos = activos;
+        this.mayoresEdad = mayoresEdad;
+        this.activosMayoresEdad = activosMayoresEdad;
+        this.sinEdad = sinEdad;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public long getActivos() {
+        return activos;
+    }
+    
+    public long getMayoresEdad() {
+        return mayoresEdad;
+    }
+    
+    public long getActivosMayoresEdad() {
+        return activosMayoresEdad;
+    }
+    
+    public long getSinEdad() {
+        return sinEdad;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.model;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -11,17 +12,41 @@ import java.util.Objects;
  * y métodos que requieren testing comprehensivo.
  */
 @Entity
-@Table(name = "usuarios")
+@Table(name = "usuarios",
+       indexes = @Index(name = "idx_usuarios_activo_edad", columnList = "activo, edad"),
+       uniqueConstraints = @UniqueConstraint(name = Usuario.RESTRICCION_EMAIL_UNICO, columnNames = "email"))
 public class Usuario {
     
+    /**
+     * Ids reservados en cada llamada a la secuencia; coincide con
+     * hibernate.jdbc.batch_size para que un lote no espere a la secuencia
+     */
+    public static final int IDS_POR_RESERVA = 50;
+    
+    /**
+     * Nombre de la restricción única sobre el email; con nombre fijo para
+     * reconocer su violación en el mensaje de la base de datos
+     */
+    public static final String RESTRICCION_EMAIL_UNICO = "uk_usuarios_email";
+    
+    /**
+     * Id de secuencia con optimizador pooled: Hibernate pide un valor cada
+     * IDS_POR_RESERVA altas y conoce el id antes del INSERT, así que puede
+     * agrupar los INSERT en lotes JDBC (con IDENTITY cada fila necesita su
+     * propia ida y vuelta para leer la clave generada)
+     * 
+     * Una base de datos con filas de IDENTITY necesita antes la migración
+     * db/migracion/h2/usuarios_seq.sql
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = IDS_POR_RESERVA)
     private Long id;
     
     @Column(name = "nombre", nullable = false, length = 100)
     private String nombre;
     
-    @Column(name = "email", nullable = false, unique = true, length = 150)
+    @Column(name = "email", nullable = false, length = 150)
     private String email;
     
     @Column(name = "edad")
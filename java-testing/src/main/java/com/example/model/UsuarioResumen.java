@@ -0,0 +1,58 @@
+package com.example.model;
+
+import java.util.Objects;
+
+/**
+ * Vista reducida de Usuario para listados: id, nombre y email
+ * 
+ * No es una entidad: las consultas la construyen directamente con
+ * SELECT new, así que Hibernate solo lee esas tres columnas y no crea
+ * entidades gestionadas ni guarda instantáneas para el dirty checking.
+ */
+public class UsuarioResumen {
+    
+    private final Long id;
+    private final String nombre;
+    private final String email;
+    
+    public UsuarioResumen(Long id, String nombre, String email) {
+        this.id = id;
+        this.nombre = nombre;
+        this.email = email;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UsuarioResumen resumen = (UsuarioResumen) o;
+        return Objects.equals(id, resumen.id) &&
+               Objects.equals(email, resumen.email);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, email);
+    }
+    
+    @Override
+    public String toString() {
+        return "UsuarioResumen{" +
+               "id=" + id +
+               ", nombre='" + nombre + '\'' +
+               ", email='" + email + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.observability;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Anota en la operación en curso lo que hace cada sesión de Hibernate
+ * 
+ * Hibernate crea una instancia por sesión (hibernate.session.events.auto),
+ * y la sesión se usa desde un único hilo, así que la operación activa en
+ * ese hilo es la que originó el trabajo. Registra sentencias JDBC, flushes,
+ * lecturas de caché de segundo nivel y el tiempo esperando conexión, que
+ * es la parte de la latencia que corresponde al pool y no a la consulta.
+ */
+public class ActividadSesionListener extends BaseSessionEventListener {
+    
+    private long inicioAdquisicion;
+    
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        inicioAdquisicion = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        if (operacion != null) {
+            operacion.registrarEsperaConexion(System.nanoTime() - inicioAdquisicion);
+        }
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        if (operacion != null) {
+            operacion.registrarSentenciaJdbc();
+        }
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+    
+    @Override
+    public void flushEnd(int numeroEntidades, int numeroColecciones) {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        if (operacion != null) {
+            operacion.registrarFlush();
+        }
+    }
+    
+    @Override
+    public void cacheGetEnd(boolean acierto) {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        if (operacion != null) {
+            operacion.registrarLecturaCache(acierto);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.observability;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource de la aplicación con datasource-proxy
+ * 
+ * Todos los QueryExecutionListener del contexto (registro de consultas
+ * lentas, contadores de sentencias...) reciben cada sentencia JDBC que
+ * ejecuta Hibernate, sin tocar los repositorios. Los MethodExecutionListener
+ * ven además las llamadas a Connection (commit, rollback...), con las que
+ * se pueden contar transacciones, y a ResultSet (next, close...), con las
+ * que se cuentan las filas de una consulta sin volver a ejecutarla.
+ */
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+    
+    static final String NOMBRE_PROXY = "usuarios-ds";
+    
+    private final ObjectProvider<QueryExecutionListener> listeners;
+    private final ObjectProvider<MethodExecutionListener> listenersMetodos;
+    
+    public DataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners,
+                                        ObjectProvider<MethodExecutionListener> listenersMetodos) {
+        this.listeners = listeners;
+        this.listenersMetodos = listenersMetodos;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create((DataSource) bean)
+            .name(NOMBRE_PROXY)
+            .proxyResultSet();
+        listeners.orderedStream().forEach(builder::listener);
+        listenersMetodos.orderedStream().forEach(builder::methodListener);
+        return builder.build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.observability;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Cuenta las entidades que Hibernate materializa en la operación en curso
+ */
+public class EntidadCargadaListener implements PostLoadEventListener {
+    
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        if (operacion != null) {
+            operacion.registrarEntidadCargada();
+        }
+    }
+}
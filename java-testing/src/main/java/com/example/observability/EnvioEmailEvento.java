@@ -0,0 +1,26 @@
+package com.example.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido por cada envío de email de EmailService
+ */
+@Name("com.example.EnvioEmail")
+@Label("Envío de Email")
+@Category({"Aplicación", "Usuarios"})
+@StackTrace(false)
+public class EnvioEmailEvento extends Event {
+    
+    @Label("Tipo")
+    String tipo;
+    
+    @Label("ID de Usuario")
+    long usuarioId;
+    
+    @Label("Resultado")
+    String resultado;
+}
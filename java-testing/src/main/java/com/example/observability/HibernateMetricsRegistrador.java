@@ -0,0 +1,44 @@
+package com.example.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conecta Hibernate con la instrumentación
+ * 
+ * - Exporta Statistics a Micrometer (hibernate.*: cargas de entidades,
+ *   flushes, consultas, caché de segundo nivel...) con la etiqueta
+ *   entityManagerFactory=usuarios. Requiere hibernate.generate_statistics.
+ * - Registra EntidadCargadaListener para contar las entidades cargadas
+ *   por cada operación de UsuarioService.
+ */
+@Component
+public class HibernateMetricsRegistrador implements InitializingBean {
+    
+    static final String NOMBRE_UNIDAD = "usuarios";
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    
+    public HibernateMetricsRegistrador(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        
+        HibernateMetrics.monitor(meterRegistry, sessionFactory, NOMBRE_UNIDAD);
+        
+        sessionFactory.getServiceRegistry()
+            .getService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_LOAD, new EntidadCargadaListener());
+    }
+}
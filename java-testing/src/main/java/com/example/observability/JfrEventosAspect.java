@@ -0,0 +1,93 @@
+package com.example.observability;
+
+import com.example.model.Usuario;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emite eventos Java Flight Recorder para el ciclo de vida de usuarios
+ * 
+ * - OperacionUsuarioEvento: crear, actualizar, desactivar y eliminar usuario,
+ *   con id, resultado y número de llamadas al repository
+ * - EnvioEmailEvento: cada email de bienvenida o despedida
+ * 
+ * Si no hay ninguna grabación JFR activa, shouldCommit() devuelve false
+ * y el coste se reduce a crear el objeto del evento.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class JfrEventosAspect {
+    
+    @Around("com.example.observability.PuntosDeCorte.cicloDeVidaUsuario()")
+    public Object registrarOperacion(ProceedingJoinPoint joinPoint) throws Throwable {
+        OperacionUsuarioEvento evento = new OperacionUsuarioEvento();
+        evento.begin();
+        Object resultado = null;
+        Throwable error = null;
+        
+        try {
+            resultado = joinPoint.proceed();
+            return resultado;
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                OperacionEnCurso operacion = OperacionEnCurso.actual();
+                evento.operacion = joinPoint.getSignature().getName();
+                evento.usuarioId = idUsuario(resultado, joinPoint.getArgs());
+                evento.resultado = ResultadoOperacion.clasificar(resultado, error, operacion).getEtiqueta();
+                evento.llamadasRepositorio = operacion != null ? operacion.getLlamadasRepositorio() : 0;
+                evento.commit();
+            }
+        }
+    }
+    
+    @Around("com.example.observability.PuntosDeCorte.envioEmail()")
+    public Object registrarEnvioEmail(ProceedingJoinPoint joinPoint) throws Throwable {
+        EnvioEmailEvento evento = new EnvioEmailEvento();
+        evento.begin();
+        boolean exito = false;
+        
+        try {
+            Object resultado = joinPoint.proceed();
+            exito = true;
+            return resultado;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                // enviarEmailBienvenida -> bienvenida
+                evento.tipo = joinPoint.getSignature().getName().replace("enviarEmail", "").toLowerCase();
+                evento.usuarioId = idUsuario(null, joinPoint.getArgs());
+                evento.resultado = exito ? "exito" : "fallo";
+                evento.commit();
+            }
+        }
+    }
+    
+    /**
+     * Id del usuario afectado: el del usuario devuelto o el del primer
+     * argumento (id o Usuario); 0 si no se conoce
+     */
+    private static long idUsuario(Object resultado, Object[] argumentos) {
+        if (resultado instanceof Usuario && ((Usuario) resultado).getId() != null) {
+            return ((Usuario) resultado).getId();
+        }
+        if (argumentos.length > 0) {
+            Object primero = argumentos[0];
+            if (primero instanceof Long) {
+                return (Long) primero;
+            }
+            if (primero instanceof Usuario && ((Usuario) primero).getId() != null) {
+                return ((Usuario) primero).getId();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.observability;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Publica las métricas del pool HikariCP en Micrometer
+ * 
+ * Gauges hikaricp.connections.active, idle, pending y timers
+ * hikaricp.connections.acquire, usage y creation. La factoría se asigna
+ * antes de que el pool arranque (Hikari no permite cambiarla después) y
+ * antes de que DataSourceProxyPostProcessor envuelva el DataSource.
+ */
+public class MetricasPoolConexionesPostProcessor implements BeanPostProcessor {
+    
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    
+    public MetricasPoolConexionesPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            HikariDataSource dataSource = (HikariDataSource) bean;
+            if (dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry.getObject()));
+            }
+        }
+        return bean;
+    }
+}
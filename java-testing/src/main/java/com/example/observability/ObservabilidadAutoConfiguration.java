@@ -0,0 +1,48 @@
+package com.example.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Respaldo de MeterRegistry y OpenTelemetry cuando nadie los aporta
+ * 
+ * Es una autoconfiguración, no una @Configuration normal, porque
+ * @ConditionalOnMissingBean solo es fiable cuando se evalúa después de
+ * las configuraciones que podrían registrar el bean: se ordena tras las
+ * de métricas y trazas de Actuator, de modo que si Actuator (o la propia
+ * aplicación) define un registro o un SDK, este no se crea. Los nombres
+ * van como texto porque Actuator no es una dependencia del proyecto.
+ * 
+ * Se registra en META-INF/spring/...AutoConfiguration.imports; el escaneo
+ * de componentes la ignora por estar listada allí.
+ */
+@AutoConfiguration(afterName = {
+    "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+    "org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration",
+    "org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryAutoConfiguration"
+})
+public class ObservabilidadAutoConfiguration {
+    
+    /**
+     * En memoria, para que la instrumentación funcione sin un backend
+     * de métricas (Prometheus, Datadog...)
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+    
+    /**
+     * No-op: sin SDK ni agente las trazas no cuestan nada
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public OpenTelemetry openTelemetry() {
+        return OpenTelemetry.noop();
+    }
+}
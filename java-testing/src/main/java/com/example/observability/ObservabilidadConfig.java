@@ -0,0 +1,48 @@
+package com.example.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración base de observabilidad
+ * 
+ * Los MeterRegistry y OpenTelemetry de respaldo (en memoria y no-op) los
+ * aporta ObservabilidadAutoConfiguration, ordenada tras Actuator.
+ * 
+ * El DataSource se envuelve con datasource-proxy para que los listeners
+ * JDBC (consultas lentas) vean cada sentencia ejecutada.
+ * 
+ * Hibernate y el pool de conexiones publican sus propias métricas y cada
+ * sesión anota su actividad en la operación de UsuarioService en curso.
+ */
+@Configuration
+public class ObservabilidadConfig {
+    
+    /**
+     * Estático para que Spring lo registre antes de crear el DataSource
+     */
+    @Bean
+    public static DataSourceProxyPostProcessor dataSourceProxyPostProcessor(
+            ObjectProvider<QueryExecutionListener> listeners,
+            ObjectProvider<MethodExecutionListener> listenersMetodos) {
+        return new DataSourceProxyPostProcessor(listeners, listenersMetodos);
+    }
+    
+    @Bean
+    public static MetricasPoolConexionesPostProcessor metricasPoolConexionesPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MetricasPoolConexionesPostProcessor(meterRegistry);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer actividadSesionCustomizer() {
+        return propiedades -> propiedades.put(
+            AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, ActividadSesionListener.class.getName());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.observability;
+
+/**
+ * Estado de la operación de UsuarioService que se ejecuta en el hilo actual
+ * 
+ * Lo abre OperacionEnCursoAspect al entrar en el servicio y permite que los
+ * demás aspectos (métricas, repositorio, email) sepan qué operación
+ * originó cada llamada y anoten lo ocurrido durante ella.
+ */
+public final class OperacionEnCurso {
+    
+    /**
+     * Nombre usado cuando no hay ninguna operación de servicio activa
+     */
+    public static final String NINGUNA = "ninguna";
+    
+    private static final ThreadLocal<OperacionEnCurso> ACTUAL = new ThreadLocal<>();
+    
+    private final String nombre;
+    private final OperacionEnCurso anterior;
+    private boolean falloEmail;
+    private int llamadasRepositorio;
+    private int entidadesCargadas;
+    private int sentenciasJdbc;
+    private int flushes;
+    private long esperaConexionNanos;
+    private int aciertosCache;
+    private int fallosCache;
+    
+    private OperacionEnCurso(String nombre, OperacionEnCurso anterior) {
+        this.nombre = nombre;
+        this.anterior = anterior;
+    }
+    
+    /**
+     * Abre una operación en el hilo actual, conservando la que hubiera
+     */
+    static OperacionEnCurso iniciar(String nombre) {
+        OperacionEnCurso operacion = new OperacionEnCurso(nombre, ACTUAL.get());
+        ACTUAL.set(operacion);
+        return operacion;
+    }
+    
+    /**
+     * Cierra la operación y restaura la anterior, si existía
+     */
+    void finalizar() {
+        if (anterior == null) {
+            ACTUAL.remove();
+        } else {
+            ACTUAL.set(anterior);
+        }
+    }
+    
+    /**
+     * Operación activa en el hilo actual, o null si no hay ninguna
+     */
+    public static OperacionEnCurso actual() {
+        return ACTUAL.get();
+    }
+    
+    /**
+     * Nombre de la operación activa, o NINGUNA
+     */
+    public static String nombreActual() {
+        OperacionEnCurso operacion = ACTUAL.get();
+        return operacion != null ? operacion.nombre : NINGUNA;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public boolean isFalloEmail() {
+        return falloEmail;
+    }
+    
+    void marcarFalloEmail() {
+        this.falloEmail = true;
+    }
+    
+    /**
+     * Llamadas a UsuarioRepository hechas durante la operación
+     */
+    public int getLlamadasRepositorio() {
+        return llamadasRepositorio;
+    }
+    
+    void registrarLlamadaRepositorio() {
+        llamadasRepositorio++;
+    }
+    
+    /**
+     * Entidades materializadas por Hibernate durante la operación
+     */
+    public int getEntidadesCargadas() {
+        return entidadesCargadas;
+    }
+    
+    void registrarEntidadCargada() {
+        entidadesCargadas++;
+    }
+    
+    /**
+     * Sentencias JDBC (incluidos lotes) ejecutadas durante la operación
+     */
+    public int getSentenciasJdbc() {
+        return sentenciasJdbc;
+    }
+    
+    void registrarSentenciaJdbc() {
+        sentenciasJdbc++;
+    }
+    
+    public int getFlushes() {
+        return flushes;
+    }
+    
+    void registrarFlush() {
+        flushes++;
+    }
+    
+    /**
+     * Tiempo total esperando una conexión del pool
+     */
+    public long getEsperaConexionNanos() {
+        return esperaConexionNanos;
+    }
+    
+    void registrarEsperaConexion(long nanos) {
+        esperaConexionNanos += nanos;
+    }
+    
+    /**
+     * Lecturas de la caché de segundo nivel con y sin acierto
+     */
+    public int getAciertosCache() {
+        return aciertosCache;
+    }
+    
+    public int getFallosCache() {
+        return fallosCache;
+    }
+    
+    void registrarLecturaCache(boolean acierto) {
+        if (acierto) {
+            aciertosCache++;
+        } else {
+            fallosCache++;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.observability;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Abre y cierra OperacionEnCurso alrededor de cada método de UsuarioService
+ * 
+ * Se ejecuta antes que el resto de aspectos para envolverlos, de modo que
+ * puedan leer la operación tanto antes como después de ejecutarla. Queda
+ * justo detrás de ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1),
+ * que los puntos de corte con target() necesitan por delante.
+ * También anota los fallos de EmailService, que el servicio captura y
+ * por tanto no llegan a propagarse, y cuenta las llamadas al repository.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class OperacionEnCursoAspect {
+    
+    @Around("com.example.observability.PuntosDeCorte.operacionUsuarioService()")
+    public Object abrirOperacion(ProceedingJoinPoint joinPoint) throws Throwable {
+        OperacionEnCurso operacion = OperacionEnCurso.iniciar(joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            operacion.finalizar();
+        }
+    }
+    
+    @Before("com.example.observability.PuntosDeCorte.llamadaUsuarioRepository()")
+    public void contarLlamadaRepositorio() {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        if (operacion != null) {
+            operacion.registrarLlamadaRepositorio();
+        }
+    }
+    
+    @AfterThrowing("com.example.observability.PuntosDeCorte.envioEmail()")
+    public void registrarFalloEmail() {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        if (operacion != null) {
+            operacion.marcarFalloEmail();
+        }
+    }
+}
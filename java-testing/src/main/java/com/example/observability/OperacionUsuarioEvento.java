@@ -0,0 +1,36 @@
+package com.example.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido por cada alta, actualización, desactivación o baja de usuario
+ * 
+ * La duración la registra el propio evento (begin/end), lo que permite
+ * correlacionar altas lentas con pausas de GC o esperas de JDBC en una
+ * grabación continua.
+ */
+@Name("com.example.OperacionUsuario")
+@Label("Operación de Usuario")
+@Category({"Aplicación", "Usuarios"})
+@Description("Operación de UsuarioService que modifica un usuario")
+@StackTrace(false)
+public class OperacionUsuarioEvento extends Event {
+    
+    @Label("Operación")
+    String operacion;
+    
+    @Label("ID de Usuario")
+    @Description("0 si el usuario no llegó a crearse")
+    long usuarioId;
+    
+    @Label("Resultado")
+    String resultado;
+    
+    @Label("Llamadas al Repository")
+    int llamadasRepositorio;
+}
@@ -0,0 +1,58 @@
+package com.example.observability;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Puntos de corte compartidos por los aspectos de observabilidad
+ * 
+ * Centraliza qué métodos se consideran una operación de usuario
+ * y cuáles son envíos de email, para que métricas, eventos y trazas
+ * instrumenten exactamente lo mismo.
+ */
+public final class PuntosDeCorte {
+    
+    private PuntosDeCorte() {
+    }
+    
+    /**
+     * Cualquier método público de UsuarioService
+     */
+    @Pointcut("execution(public * com.example.service.UsuarioService.*(..))")
+    public void operacionUsuarioService() {
+    }
+    
+    /**
+     * Consultas de UsuarioRepository: métodos find*, count* y exists*,
+     * tanto los propios como los heredados de JpaRepository (findAll, count...)
+     */
+    @Pointcut("target(com.example.repository.UsuarioRepository)"
+        + " && (execution(* find*(..)) || execution(* count*(..)) || execution(* exists*(..)))")
+    public void consultaUsuarioRepository() {
+    }
+    
+    /**
+     * Cualquier llamada a UsuarioRepository (consultas y escrituras),
+     * excluyendo los métodos de Object del proxy
+     */
+    @Pointcut("target(com.example.repository.UsuarioRepository)"
+        + " && execution(* org.springframework.data.repository.Repository+.*(..))")
+    public void llamadaUsuarioRepository() {
+    }
+    
+    /**
+     * Operaciones de UsuarioService que modifican usuarios
+     */
+    @Pointcut("execution(public * com.example.service.UsuarioService.crearUsuario(..))"
+        + " || execution(public * com.example.service.UsuarioService.actualizarUsuario(..))"
+        + " || execution(public * com.example.service.UsuarioService.desactivarUsuario(..))"
+        + " || execution(public * com.example.service.UsuarioService.eliminarUsuario(..))")
+    public void cicloDeVidaUsuario() {
+    }
+    
+    /**
+     * Envíos de email de bienvenida y despedida
+     */
+    @Pointcut("execution(public void com.example.service.EmailService.enviarEmail*(..))")
+    public void envioEmail() {
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Registro de sentencias lentas sobre la tabla usuarios
+ * 
+ * Cada sentencia que supera el umbral (usuarios.consultas-lentas.umbral-ms)
+ * se escribe en el log con:
+ * - el SQL y los parámetros enlazados
+ * - el número de filas devueltas o modificadas
+ * - la operación de UsuarioService que la originó
+ * 
+ * Las filas nunca se obtienen repitiendo la sentencia: las modificaciones
+ * traen su recuento en el resultado y las consultas se cuentan mientras
+ * Hibernate recorre el ResultSet (el proxy de datasource-proxy avisa de
+ * cada next()), de modo que una consulta lenta se registra al cerrarse.
+ * 
+ * Opcionalmente (usuarios.consultas-lentas.capturar-plan, desactivado por
+ * defecto) se registra también el plan de H2: EXPLAIN ANALYZE para
+ * consultas y EXPLAIN para el resto. El plan muestra si H2 recorre la tabla
+ * entera (tableScan) o usa un índice y cuántas filas examina (scanCount).
+ * Como EXPLAIN ANALYZE vuelve a ejecutar la consulta, se hace en segundo
+ * plano, sobre una conexión propia (fuera de la transacción de la petición,
+ * así que no ve sus cambios sin confirmar) y como mucho una vez cada
+ * usuarios.consultas-lentas.plan-intervalo-ms.
+ */
+@Component
+public class RegistroConsultasLentas implements QueryExecutionListener, MethodExecutionListener, DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(RegistroConsultasLentas.class);
+    
+    private static final Pattern TABLA_USUARIOS = Pattern.compile("\\busuarios\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONSULTA = Pattern.compile("^\\s*select\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DML =
+        Pattern.compile("^\\s*(select|insert|update|delete|merge)\\b", Pattern.CASE_INSENSITIVE);
+    
+    /**
+     * Consultas lentas cuyo ResultSet sigue abierto; por encima se registran
+     * sin recuento para no acumular si alguien no cierra sus ResultSet
+     */
+    private static final int MAXIMO_PENDIENTES = 1000;
+    
+    private final long umbralMs;
+    private final boolean capturarPlan;
+    private final long intervaloPlanNanos;
+    private final Supplier<DataSource> origenPlanes;
+    private final ThreadPoolTaskExecutor ejecutorPlanes;
+    
+    // Clave: el ResultSet real (sin proxy) de cada consulta lenta aún abierta
+    private final Map<ResultSet, ConsultaPendiente> pendientes = new ConcurrentHashMap<>();
+    private final AtomicLong siguientePlan = new AtomicLong(System.nanoTime());
+    
+    @Autowired
+    public RegistroConsultasLentas(
+            @Value("${usuarios.consultas-lentas.umbral-ms:100}") long umbralMs,
+            @Value("${usuarios.consultas-lentas.capturar-plan:false}") boolean capturarPlan,
+            @Value("${usuarios.consultas-lentas.plan-intervalo-ms:10000}") long intervaloPlanMs,
+            ObjectProvider<DataSource> dataSource) {
+        this(umbralMs, capturarPlan, intervaloPlanMs, dataSource::getObject);
+    }
+    
+    /**
+     * @param origenPlanes DataSource del que se toma la conexión para los planes;
+     *                     si es un proxy de datasource-proxy se usa el original
+     */
+    public RegistroConsultasLentas(long umbralMs, boolean capturarPlan, long intervaloPlanMs,
+                                   Supplier<DataSource> origenPlanes) {
+        this.umbralMs = umbralMs;
+        this.capturarPlan = capturarPlan;
+        this.intervaloPlanNanos = TimeUnit.MILLISECONDS.toNanos(intervaloPlanMs);
+        this.origenPlanes = origenPlanes;
+        this.ejecutorPlanes = capturarPlan ? crearEjecutorPlanes() : null;
+    }
+    
+    private static ThreadPoolTaskExecutor crearEjecutorPlanes() {
+        // Un único hilo y sin cola: si hay un plan en curso, el siguiente se descarta
+        ThreadPoolTaskExecutor ejecutor = new ThreadPoolTaskExecutor();
+        ejecutor.setThreadNamePrefix("plan-consultas-lentas-");
+        ejecutor.setCorePoolSize(1);
+        ejecutor.setMaxPoolSize(1);
+        ejecutor.setQueueCapacity(0);
+        ejecutor.setDaemon(true);
+        ejecutor.initialize();
+        return ejecutor;
+    }
+    
+    @Override
+    public void destroy() {
+        if (ejecutorPlanes != null) {
+            ejecutorPlanes.shutdown();
+        }
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Solo interesa el resultado
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < umbralMs) {
+            return;
+        }
+        
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            // El DDL del arranque (create/drop table) no interesa
+            if (!DML.matcher(sql).find() || !TABLA_USUARIOS.matcher(sql).find()) {
+                continue;
+            }
+            try {
+                ConsultaPendiente consulta = new ConsultaPendiente(
+                    execInfo.getElapsedTime(), OperacionEnCurso.nombreActual(), sql, parametros(queryInfo),
+                    sinProxy(execInfo.getStatement()));
+                Object resultado = execInfo.getResult();
+                
+                if (resultado instanceof ResultSet && pendientes.size() < MAXIMO_PENDIENTES) {
+                    // Se registra al cerrar el ResultSet, con las filas ya contadas
+                    pendientes.put((ResultSet) sinProxy(resultado), consulta);
+                } else {
+                    registrar(consulta, filasModificadas(resultado));
+                }
+            } catch (RuntimeException e) {
+                // El diagnóstico nunca debe romper la consulta original
+                log.debug("No se pudo describir la consulta lenta", e);
+            }
+        }
+    }
+    
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // Solo interesa el método ya ejecutado
+    }
+    
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        
+        Object objetivo = executionContext.getTarget();
+        String metodo = executionContext.getMethod().getName();
+        if (objetivo instanceof ResultSet) {
+            ConsultaPendiente consulta = pendientes.get(objetivo);
+            if (consulta == null) {
+                return;
+            }
+            if ("next".equals(metodo) && Boolean.TRUE.equals(executionContext.getResult())) {
+                consulta.filas++;
+            } else if ("close".equals(metodo) && pendientes.remove(objetivo) != null) {
+                registrar(consulta, String.valueOf(consulta.filas));
+            }
+        } else if (objetivo instanceof Statement && "close".equals(metodo)) {
+            // Cerrar la sentencia cierra su ResultSet sin pasar por el proxy de este
+            pendientes.entrySet().removeIf(pendiente -> {
+                ConsultaPendiente consulta = pendiente.getValue();
+                if (consulta.sentencia != objetivo) {
+                    return false;
+                }
+                registrar(consulta, String.valueOf(consulta.filas));
+                return true;
+            });
+        }
+    }
+    
+    private void registrar(ConsultaPendiente consulta, String filas) {
+        try {
+            log.warn(describir(consulta, filas));
+            if (capturarPlan) {
+                solicitarPlan(consulta);
+            }
+        } catch (RuntimeException e) {
+            log.debug("No se pudo describir la consulta lenta", e);
+        }
+    }
+    
+    /**
+     * Texto del log para una sentencia lenta
+     */
+    String describir(ConsultaPendiente consulta, String filas) {
+        return new StringBuilder("Consulta lenta (")
+            .append(consulta.milisegundos).append(" ms, umbral ").append(umbralMs).append(" ms)")
+            .append("\n  operacion: ").append(consulta.operacion)
+            .append("\n  sql: ").append(consulta.sql)
+            .append("\n  parametros: ").append(consulta.parametros)
+            .append("\n  filas: ").append(filas)
+            .toString();
+    }
+    
+    /**
+     * Valores enlazados de la primera fila de parámetros, en orden de índice
+     */
+    private static List<Object> parametros(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        List<ParameterSetOperation> operaciones = new ArrayList<>(queryInfo.getParametersList().get(0));
+        operaciones.sort(Comparator.comparingInt(operacion -> (Integer) operacion.getArgs()[0]));
+        
+        List<Object> valores = new ArrayList<>();
+        for (ParameterSetOperation operacion : operaciones) {
+            boolean esNull = ParameterSetOperation.isSetNullParameterOperation(operacion);
+            valores.add(esNull ? null : operacion.getArgs()[1]);
+        }
+        return valores;
+    }
+    
+    private static String filasModificadas(Object resultado) {
+        if (resultado instanceof Integer || resultado instanceof Long) {
+            return String.valueOf(resultado);
+        }
+        if (resultado instanceof int[]) {
+            long total = 0;
+            for (int filasLote : (int[]) resultado) {
+                total += filasLote;
+            }
+            return String.valueOf(total);
+        }
+        return "desconocido";
+    }
+    
+    private static Object sinProxy(Object objetoJdbc) {
+        return objetoJdbc instanceof ProxyJdbcObject ? ((ProxyJdbcObject) objetoJdbc).getTarget() : objetoJdbc;
+    }
+    
+    /**
+     * Encola el plan si ha pasado el intervalo desde el anterior y no hay otro en curso
+     */
+    private void solicitarPlan(ConsultaPendiente consulta) {
+        long ahora = System.nanoTime();
+        long permitido = siguientePlan.get();
+        if (ahora - permitido < 0 || !siguientePlan.compareAndSet(permitido, ahora + intervaloPlanNanos)) {
+            return;
+        }
+        try {
+            ejecutorPlanes.execute(() -> log.warn("Plan de consulta lenta\n  operacion: " + consulta.operacion
+                + "\n  sql: " + consulta.sql + "\n  plan:\n" + plan(consulta)));
+        } catch (TaskRejectedException e) {
+            log.debug("Plan de consulta lenta descartado: hay otro en curso");
+        }
+    }
+    
+    private String plan(ConsultaPendiente consulta) {
+        // EXPLAIN ANALYZE ejecuta la sentencia: solo es seguro en consultas
+        String prefijo = CONSULTA.matcher(consulta.sql).find() ? "EXPLAIN ANALYZE " : "EXPLAIN ";
+        return ejecutar(prefijo + consulta.sql, consulta.parametros).stream()
+            .flatMap(String::lines)
+            .map(linea -> "    " + linea)
+            .collect(Collectors.joining("\n"));
+    }
+    
+    /**
+     * Ejecuta una sentencia de diagnóstico con una conexión propia del
+     * DataSource original (sin proxy), para no volver a pasar por este listener
+     */
+    private List<String> ejecutar(String sql, List<Object> parametros) {
+        List<String> filas = new ArrayList<>();
+        DataSource dataSource = origenPlanes.get();
+        if (dataSource instanceof ProxyDataSource) {
+            dataSource = ((ProxyDataSource) dataSource).getDataSource();
+        }
+        if (dataSource == null) {
+            filas.add("(no disponible: sin DataSource)");
+            return filas;
+        }
+        
+        try (Connection conexion = dataSource.getConnection();
+             PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+            for (int i = 0; i < parametros.size(); i++) {
+                sentencia.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet resultado = sentencia.executeQuery()) {
+                while (resultado.next()) {
+                    filas.add(resultado.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            filas.add("(no disponible: " + e.getMessage() + ")");
+        }
+        return filas;
+    }
+    
+    /**
+     * Sentencia lenta a la espera de registrarse
+     */
+    static final class ConsultaPendiente {
+        
+        private final long milisegundos;
+        private final String operacion;
+        private final String sql;
+        private final List<Object> parametros;
+        private final Object sentencia;
+        
+        // Solo la toca el hilo que recorre el ResultSet
+        private long filas;
+        
+        ConsultaPendiente(long milisegundos, String operacion, String sql, List<Object> parametros,
+                          Object sentencia) {
+            this.milisegundos = milisegundos;
+            this.operacion = operacion;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.sentencia = sentencia;
+        }
+    }
+}
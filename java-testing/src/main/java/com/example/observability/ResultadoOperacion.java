@@ -0,0 +1,58 @@
+package com.example.observability;
+
+import com.example.service.UsuarioService;
+
+import java.util.Optional;
+
+/**
+ * Resultado de una operación de UsuarioService, usado como etiqueta de métricas
+ */
+public enum ResultadoOperacion {
+    
+    EXITO("exito"),
+    ERROR_VALIDACION("error_validacion"),
+    EMAIL_DUPLICADO("email_duplicado"),
+    NO_ENCONTRADO("no_encontrado"),
+    FALLO_EMAIL("fallo_email"),
+    ERROR("error");
+    
+    private final String etiqueta;
+    
+    ResultadoOperacion(String etiqueta) {
+        this.etiqueta = etiqueta;
+    }
+    
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+    
+    /**
+     * Clasifica el desenlace de una operación
+     * 
+     * @param valor valor devuelto por la operación; un Optional vacío (búsqueda
+     *              sin resultado) cuenta como no encontrado
+     * @param error excepción lanzada por la operación, o null si terminó bien
+     * @param operacion operación en curso, para detectar fallos de email capturados
+     */
+    public static ResultadoOperacion clasificar(Object valor, Throwable error, OperacionEnCurso operacion) {
+        if (error == null) {
+            if (valor instanceof Optional && ((Optional<?>) valor).isEmpty()) {
+                return NO_ENCONTRADO;
+            }
+            return operacion != null && operacion.isFalloEmail() ? FALLO_EMAIL : EXITO;
+        }
+        
+        if (error instanceof IllegalArgumentException) {
+            String mensaje = error.getMessage();
+            if (UsuarioService.MENSAJE_EMAIL_DUPLICADO.equals(mensaje)) {
+                return EMAIL_DUPLICADO;
+            }
+            if (UsuarioService.MENSAJE_USUARIO_NO_ENCONTRADO.equals(mensaje)) {
+                return NO_ENCONTRADO;
+            }
+            return ERROR_VALIDACION;
+        }
+        
+        return ERROR;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.observability;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spans OpenTelemetry para UsuarioService, UsuarioRepository y EmailService
+ * 
+ * - UsuarioService.<metodo>: cada método público, con el resultado
+ *   (mismas etiquetas que las métricas) en usuarios.resultado
+ * - UsuarioRepository.<metodo>: cada llamada al repository (SpanKind.CLIENT)
+ * - EmailService.<metodo>: envíos de bienvenida y despedida
+ * 
+ * Cada span se hace actual mientras dura la llamada, así que los del
+ * repository y el email quedan como hijos del span de la operación y se ve
+ * cómo se reparte su duración (comprobación de duplicados, insert, email).
+ * Se ejecuta justo dentro de OperacionEnCursoAspect para que el span cubra
+ * también al resto de la instrumentación.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class TrazasAspect {
+    
+    static final String NOMBRE_INSTRUMENTACION = "com.example.usuarios";
+    
+    static final AttributeKey<String> OPERACION = AttributeKey.stringKey("usuarios.operacion");
+    static final AttributeKey<String> RESULTADO = AttributeKey.stringKey("usuarios.resultado");
+    static final AttributeKey<String> DB_SYSTEM = AttributeKey.stringKey("db.system");
+    static final AttributeKey<String> DB_OPERATION = AttributeKey.stringKey("db.operation");
+    
+    private final Tracer tracer;
+    
+    public TrazasAspect(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(NOMBRE_INSTRUMENTACION);
+    }
+    
+    @Around("com.example.observability.PuntosDeCorte.operacionUsuarioService()")
+    public Object trazarOperacion(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.spanBuilder("UsuarioService." + joinPoint.getSignature().getName())
+            .setSpanKind(SpanKind.INTERNAL)
+            .startSpan();
+        Object valor = null;
+        Throwable error = null;
+        
+        try (Scope scope = span.makeCurrent()) {
+            valor = joinPoint.proceed();
+            return valor;
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            ResultadoOperacion resultado = ResultadoOperacion.clasificar(valor, error, OperacionEnCurso.actual());
+            span.setAttribute(RESULTADO, resultado.getEtiqueta());
+            if (error != null) {
+                span.recordException(error);
+                span.setStatus(StatusCode.ERROR, resultado.getEtiqueta());
+            }
+            span.end();
+        }
+    }
+    
+    @Around("com.example.observability.PuntosDeCorte.llamadaUsuarioRepository()")
+    public Object trazarRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        String metodo = joinPoint.getSignature().getName();
+        Span span = tracer.spanBuilder("UsuarioRepository." + metodo)
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(DB_SYSTEM, "h2")
+            .setAttribute(DB_OPERATION, metodo)
+            .setAttribute(OPERACION, OperacionEnCurso.nombreActual())
+            .startSpan();
+        return ejecutar(span, joinPoint);
+    }
+    
+    @Around("com.example.observability.PuntosDeCorte.envioEmail()")
+    public Object trazarEmail(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.spanBuilder("EmailService." + joinPoint.getSignature().getName())
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(OPERACION, OperacionEnCurso.nombreActual())
+            .startSpan();
+        return ejecutar(span, joinPoint);
+    }
+    
+    private static Object ejecutar(Span span, ProceedingJoinPoint joinPoint) throws Throwable {
+        try (Scope scope = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            span.recordException(t);
+            span.setStatus(StatusCode.ERROR);
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
+}
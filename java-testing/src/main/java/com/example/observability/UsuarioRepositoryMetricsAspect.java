@@ -0,0 +1,92 @@
+package com.example.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Métricas Micrometer para cada consulta de UsuarioRepository
+ * 
+ * Por método de repositorio registra:
+ * - usuarios.repositorio.duracion: timer con histograma de percentiles
+ * - usuarios.repositorio.filas: histograma del número de entidades devueltas
+ * 
+ * Ambas llevan la etiqueta metodo y la etiqueta operacion con la operación
+ * de UsuarioService que hizo la llamada, para localizar qué punto de uso
+ * genera los resultados más grandes. Los métodos que devuelven un escalar
+ * (count, exists) solo registran duración.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class UsuarioRepositoryMetricsAspect {
+    
+    static final String METRICA_DURACION = "usuarios.repositorio.duracion";
+    static final String METRICA_FILAS = "usuarios.repositorio.filas";
+    
+    private final MeterRegistry meterRegistry;
+    
+    public UsuarioRepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Around("com.example.observability.PuntosDeCorte.consultaUsuarioRepository()")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        String metodo = joinPoint.getSignature().getName();
+        String operacion = OperacionEnCurso.nombreActual();
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        
+        Object resultado = null;
+        try {
+            resultado = joinPoint.proceed();
+            return resultado;
+        } finally {
+            muestra.stop(Timer.builder(METRICA_DURACION)
+                .description("Duración de las consultas de UsuarioRepository")
+                .tag("metodo", metodo)
+                .tag("operacion", operacion)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            
+            long filas = contarFilas(resultado);
+            if (filas >= 0) {
+                DistributionSummary.builder(METRICA_FILAS)
+                    .description("Entidades devueltas por las consultas de UsuarioRepository")
+                    .baseUnit("filas")
+                    .tag("metodo", metodo)
+                    .tag("operacion", operacion)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(filas);
+            }
+        }
+    }
+    
+    /**
+     * Número de entidades materializadas, o -1 si el resultado es un escalar
+     */
+    private static long contarFilas(Object resultado) {
+        if (resultado instanceof Collection) {
+            return ((Collection<?>) resultado).size();
+        }
+        if (resultado instanceof Slice) {
+            return ((Slice<?>) resultado).getNumberOfElements();
+        }
+        if (resultado instanceof Optional) {
+            return ((Optional<?>) resultado).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas Micrometer para cada operación de UsuarioService
+ * 
+ * Por operación y resultado registra:
+ * - usuarios.servicio.duracion: timer con histograma de percentiles
+ * - usuarios.servicio.resultados: contador de ejecuciones
+ * 
+ * Etiquetas: operacion (nombre del método) y resultado
+ * (exito, error_validacion, email_duplicado, no_encontrado, fallo_email, error);
+ * una búsqueda que devuelve Optional vacío cuenta como no_encontrado.
+ * 
+ * Además, con la actividad de Hibernate anotada en OperacionEnCurso, registra
+ * por operación:
+ * - usuarios.servicio.entidades: entidades materializadas
+ * - usuarios.servicio.sentencias: sentencias JDBC ejecutadas
+ * - usuarios.servicio.flushes: flushes de la sesión
+ * - usuarios.servicio.conexion.espera: tiempo esperando conexión del pool
+ * - usuarios.servicio.cache: lecturas de caché de segundo nivel (resultado acierto/fallo)
+ * 
+ * Así se distingue si la latencia de una operación viene de cargar
+ * entidades o de esperar al pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class UsuarioServiceMetricsAspect {
+    
+    static final String METRICA_DURACION = "usuarios.servicio.duracion";
+    static final String METRICA_RESULTADOS = "usuarios.servicio.resultados";
+    static final String METRICA_ENTIDADES = "usuarios.servicio.entidades";
+    static final String METRICA_SENTENCIAS = "usuarios.servicio.sentencias";
+    static final String METRICA_FLUSHES = "usuarios.servicio.flushes";
+    static final String METRICA_ESPERA_CONEXION = "usuarios.servicio.conexion.espera";
+    static final String METRICA_CACHE = "usuarios.servicio.cache";
+    
+    private final MeterRegistry meterRegistry;
+    
+    public UsuarioServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Around("com.example.observability.PuntosDeCorte.operacionUsuarioService()")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operacion = joinPoint.getSignature().getName();
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        OperacionEnCurso enCurso = OperacionEnCurso.actual();
+        Object valor = null;
+        Throwable error = null;
+        
+        try {
+            valor = joinPoint.proceed();
+            return valor;
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            ResultadoOperacion resultado = ResultadoOperacion.clasificar(valor, error, enCurso);
+            
+            muestra.stop(Timer.builder(METRICA_DURACION)
+                .description("Duración de las operaciones de UsuarioService")
+                .tag("operacion", operacion)
+                .tag("resultado", resultado.getEtiqueta())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            
+            Counter.builder(METRICA_RESULTADOS)
+                .description("Ejecuciones de UsuarioService por resultado")
+                .tag("operacion", operacion)
+                .tag("resultado", resultado.getEtiqueta())
+                .register(meterRegistry)
+                .increment();
+            
+            if (enCurso != null) {
+                registrarActividadHibernate(operacion, enCurso);
+            }
+        }
+    }
+    
+    private void registrarActividadHibernate(String operacion, OperacionEnCurso enCurso) {
+        resumen(METRICA_ENTIDADES, "Entidades cargadas por operación de UsuarioService", operacion)
+            .record(enCurso.getEntidadesCargadas());
+        resumen(METRICA_SENTENCIAS, "Sentencias JDBC por operación de UsuarioService", operacion)
+            .record(enCurso.getSentenciasJdbc());
+        resumen(METRICA_FLUSHES, "Flushes de sesión por operación de UsuarioService", operacion)
+            .record(enCurso.getFlushes());
+        
+        Timer.builder(METRICA_ESPERA_CONEXION)
+            .description("Tiempo esperando conexión del pool por operación de UsuarioService")
+            .tag("operacion", operacion)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(enCurso.getEsperaConexionNanos(), TimeUnit.NANOSECONDS);
+        
+        if (enCurso.getAciertosCache() > 0) {
+            cache(operacion, "acierto").increment(enCurso.getAciertosCache());
+        }
+        if (enCurso.getFallosCache() > 0) {
+            cache(operacion, "fallo").increment(enCurso.getFallosCache());
+        }
+    }
+    
+    private DistributionSummary resumen(String nombre, String descripcion, String operacion) {
+        return DistributionSummary.builder(nombre)
+            .description(descripcion)
+            .tag("operacion", operacion)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+    
+    private Counter cache(String operacion, String resultado) {
+        return Counter.builder(METRICA_CACHE)
+            .description("Lecturas de caché de segundo nivel por operación de UsuarioService")
+            .tag("operacion", operacion)
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.repository;
+
+import com.example.model.Usuario;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criterios de búsqueda de usuarios
+ * 
+ * Cada criterio es opcional (null o vacío: no filtra) y todos los que se
+ * indiquen se combinan con AND en una única consulta:
+ * - nombre: contiene el texto, sin distinguir mayúsculas
+ * - edadMinima / edadMaxima: rango de edad, ambos incluidos
+ * - activo: true solo activos, false solo inactivos
+ * - registradoDesde / registradoHasta: fecha de registro, desde incluido y
+ *   hasta excluido
+ * - dominioEmail: el email termina en @dominio, sin distinguir mayúsculas
+ * 
+ * Los comodines de LIKE (%, _) que traiga el texto se buscan literalmente.
+ */
+public class FiltroUsuarios {
+    
+    private static final char ESCAPE = '\\';
+    
+    private String nombre;
+    private Integer edadMinima;
+    private Integer edadMaxima;
+    private Boolean activo;
+    private LocalDateTime registradoDesde;
+    private LocalDateTime registradoHasta;
+    private String dominioEmail;
+    
+    public FiltroUsuarios nombre(String nombre) {
+        this.nombre = nombre;
+        return this;
+    }
+    
+    public FiltroUsuarios edadMinima(Integer edadMinima) {
+        this.edadMinima = edadMinima;
+        return this;
+    }
+    
+    public FiltroUsuarios edadMaxima(Integer edadMaxima) {
+        this.edadMaxima = edadMaxima;
+        return this;
+    }
+    
+    public FiltroUsuarios activo(Boolean activo) {
+        this.activo = activo;
+        return this;
+    }
+    
+    public FiltroUsuarios registradoDesde(LocalDateTime registradoDesde) {
+        this.registradoDesde = registradoDesde;
+        return this;
+    }
+    
+    public FiltroUsuarios registradoHasta(LocalDateTime registradoHasta) {
+        this.registradoHasta = registradoHasta;
+        return this;
+    }
+    
+    public FiltroUsuarios dominioEmail(String dominioEmail) {
+        this.dominioEmail = dominioEmail;
+        return this;
+    }
+    
+    /**
+     * Specification con un predicado por cada criterio indicado
+     */
+    public Specification<Usuario> comoSpecification() {
+        return (raiz, consulta, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            
+            if (tieneTexto(nombre)) {
+                predicados.add(cb.like(cb.lower(raiz.get("nombre")),
+                    "%" + escaparLike(nombre.trim().toLowerCase()) + "%", ESCAPE));
+            }
+            if (edadMinima != null) {
+                predicados.add(cb.greaterThanOrEqualTo(raiz.get("edad"), edadMinima));
+            }
+            if (edadMaxima != null) {
+                predicados.add(cb.lessThanOrEqualTo(raiz.get("edad"), edadMaxima));
+            }
+            if (activo != null) {
+                predicados.add(cb.equal(raiz.get("activo"), activo));
+            }
+            if (registradoDesde != null) {
+                predicados.add(cb.greaterThanOrEqualTo(raiz.get("fechaRegistro"), registradoDesde));
+            }
+            if (registradoHasta != null) {
+                predicados.add(cb.lessThan(raiz.get("fechaRegistro"), registradoHasta));
+            }
+            if (tieneTexto(dominioEmail)) {
+                String dominio = dominioEmail.trim().toLowerCase();
+                if (dominio.startsWith("@")) {
+                    dominio = dominio.substring(1);
+                }
+                predicados.add(cb.like(cb.lower(raiz.get("email")), "%@" + escaparLike(dominio), ESCAPE));
+            }
+            
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+    
+    private static boolean tieneTexto(String texto) {
+        return texto != null && !texto.trim().isEmpty();
+    }
+    
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.repository;
 
+import com.example.model.ConteosUsuarios;
 import com.example.model.Usuario;
+import com.example.model.UsuarioResumen;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +19,13 @@ import java.util.Optional;
  * Repository para la entidad Usuario
  * 
  * Incluye métodos personalizados que serán testeados en pruebas de integración
+ * (y los implementados a mano de UsuarioRepositoryExportacion y
+ * UsuarioRepositoryBusqueda). Las búsquedas con criterios combinables
+ * van por Specification (ver FiltroUsuarios).
  */
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario>,
+        UsuarioRepositoryExportacion, UsuarioRepositoryBusqueda {
     
     /**
      * Busca usuario por email
@@ -30,6 +39,14 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     List<Usuario> findByActivoTrue();
     
+    /**
+     * Usuarios activos con id mayor que el dado, ordenados por id
+     * Paginación por clave (keyset): busca en la clave primaria a partir del
+     * último id visto en lugar de saltar filas con OFFSET, así que cada página
+     * cuesta lo mismo por profunda que sea. Pasar siempre la página 0.
+     */
+    List<Usuario> findByActivoTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     /**
      * Busca usuarios por rango de edad
      * Para testing con parámetros múltiples
@@ -48,6 +65,29 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     long countByActivoTrue();
     
+    /**
+     * Recuentos para estadísticas en una sola pasada por la tabla:
+     * total, activos, mayores de edad, activos mayores de edad y sin edad
+     * COUNT(CASE ...) ignora los NULL, así que con la tabla vacía devuelve ceros
+     */
+    @Query("SELECT new com.example.model.ConteosUsuarios("
+        + " COUNT(u),"
+        + " COUNT(CASE WHEN u.activo = true THEN 1 END),"
+        + " COUNT(CASE WHEN u.edad >= 18 THEN 1 END),"
+        + " COUNT(CASE WHEN u.activo = true AND u.edad >= 18 THEN 1 END),"
+        + " COUNT(CASE WHEN u.edad IS NULL THEN 1 END))"
+        + " FROM Usuario u")
+    ConteosUsuarios countEstadisticas();
+    
+    /**
+     * Número de usuarios por edad y estado (edad, activo, recuento), con
+     * las edades nulas. Una fila por combinación: pocas filas aunque la
+     * tabla sea grande, y todos los recuentos de ContadoresUsuarios salen
+     * de la misma sentencia (misma instantánea de la tabla)
+     */
+    @Query("SELECT u.edad, u.activo, COUNT(u) FROM Usuario u GROUP BY u.edad, u.activo")
+    List<Object[]> countPorEdadYActivo();
+    
     /**
      * Busca usuarios registrados después de una fecha
      * Para testing con fechas
@@ -69,9 +109,49 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     List<Usuario> findUsuariosActivosConEdadMinima(@Param("activo") Boolean activo, 
                                                    @Param("edadMinima") Integer edadMinima);
     
+    /**
+     * Variantes para listados de las consultas anteriores
+     * 
+     * Devuelven UsuarioResumen (id, nombre y email) construido en la propia
+     * consulta: solo se leen esas columnas y no se crean entidades gestionadas.
+     */
+    @Query("SELECT new com.example.model.UsuarioResumen(u.id, u.nombre, u.email)"
+        + " FROM Usuario u WHERE u.activo = true")
+    List<UsuarioResumen> findResumenByActivoTrue();
+    
+    @Query("SELECT new com.example.model.UsuarioResumen(u.id, u.nombre, u.email)"
+        + " FROM Usuario u WHERE u.edad BETWEEN :edadMinima AND :edadMaxima")
+    List<UsuarioResumen> findResumenByEdadBetween(@Param("edadMinima") Integer edadMinima,
+                                                  @Param("edadMaxima") Integer edadMaxima);
+    
+    /**
+     * Igual que findByNombreContainingIgnoreCase: escape() neutraliza los
+     * comodines (%, _) del texto, como hace Spring Data en las derivadas
+     */
+    @Query("SELECT new com.example.model.UsuarioResumen(u.id, u.nombre, u.email)"
+        + " FROM Usuario u WHERE UPPER(u.nombre) LIKE UPPER(CONCAT('%', :#{escape(#nombre)}, '%'))"
+        + " ESCAPE :#{escapeCharacter()}")
+    List<UsuarioResumen> findResumenByNombreContainingIgnoreCase(@Param("nombre") String nombre);
+    
+    @Query("SELECT new com.example.model.UsuarioResumen(u.id, u.nombre, u.email)"
+        + " FROM Usuario u WHERE u.edad >= 18")
+    List<UsuarioResumen> findResumenUsuariosMayoresDeEdad();
+    
+    @Query("SELECT new com.example.model.UsuarioResumen(u.id, u.nombre, u.email)"
+        + " FROM Usuario u WHERE u.activo = :activo AND u.edad >= :edadMinima")
+    List<UsuarioResumen> findResumenUsuariosActivosConEdadMinima(@Param("activo") Boolean activo,
+                                                                 @Param("edadMinima") Integer edadMinima);
+    
     /**
      * Verifica si existe usuario con email
      * Para testing de métodos exists personalizados
      */
     boolean existsByEmail(String email);
+    
+    /**
+     * Emails de la lista que ya están registrados
+     * Comprobación de duplicados de un lote entero en una sola consulta
+     */
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.repository;
+
+import com.example.model.Usuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Búsqueda paginada por Specification sin consulta count
+ * 
+ * JpaSpecificationExecutor.findAll(spec, pageable) devuelve Page y lanza
+ * un count además de la consulta; aquí se pide una fila de más para
+ * saber si hay página siguiente. Implementada en UsuarioRepositoryBusquedaImpl.
+ */
+public interface UsuarioRepositoryBusqueda {
+    
+    Slice<Usuario> findSlice(Specification<Usuario> especificacion, Pageable pageable);
+}
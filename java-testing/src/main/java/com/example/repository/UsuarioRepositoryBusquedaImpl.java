@@ -0,0 +1,47 @@
+package com.example.repository;
+
+import com.example.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementación de UsuarioRepositoryBusqueda con la API Criteria
+ */
+class UsuarioRepositoryBusquedaImpl implements UsuarioRepositoryBusqueda {
+    
+    private final EntityManager entityManager;
+    
+    UsuarioRepositoryBusquedaImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Usuario> findSlice(Specification<Usuario> especificacion, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Usuario> consulta = cb.createQuery(Usuario.class);
+        Root<Usuario> raiz = consulta.from(Usuario.class);
+        consulta.select(raiz)
+            .where(especificacion.toPredicate(raiz, consulta, cb))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), raiz, cb));
+        
+        List<Usuario> usuarios = entityManager.createQuery(consulta)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+        
+        boolean hayMas = usuarios.size() > pageable.getPageSize();
+        List<Usuario> pagina = hayMas ? usuarios.subList(0, pageable.getPageSize()) : usuarios;
+        return new SliceImpl<>(pagina, pageable, hayMas);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.repository;
+
+import com.example.model.Usuario;
+
+import java.util.stream.Stream;
+
+/**
+ * Consultas de UsuarioRepository implementadas a mano
+ * 
+ * Spring Data las combina con las derivadas en el mismo proxy;
+ * la implementación está en UsuarioRepositoryExportacionImpl.
+ */
+public interface UsuarioRepositoryExportacion {
+    
+    /**
+     * Recorre todos los usuarios por id con un cursor de solo avance
+     * 
+     * Las filas se leen de la base de datos en lotes (fetch size
+     * configurable con usuarios.exportacion.tamano-lote) y cada usuario se
+     * desacopla del contexto de persistencia al leerlo, así que la memoria
+     * no crece con el tamaño de la tabla. Los usuarios devueltos son de
+     * solo lectura: los cambios sobre ellos no se guardan.
+     * 
+     * Requiere una transacción abierta mientras se consume el stream, y
+     * hay que cerrarlo (try-with-resources) para liberar el cursor.
+     */
+    Stream<Usuario> findAllParaExportar();
+}
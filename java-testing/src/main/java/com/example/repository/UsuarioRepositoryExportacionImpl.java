@@ -0,0 +1,63 @@
+package com.example.repository;
+
+import com.example.model.Usuario;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementación de UsuarioRepositoryExportacion sobre la Session de Hibernate
+ * 
+ * Se usa ScrollableResults en lugar de un método Stream derivado porque
+ * este no permite fijar el fetch size desde configuración ni desacoplar
+ * cada fila: con un Stream de Spring Data las entidades se acumulan en el
+ * contexto de persistencia hasta que termina la transacción.
+ */
+class UsuarioRepositoryExportacionImpl implements UsuarioRepositoryExportacion {
+    
+    private final EntityManager entityManager;
+    private final int tamanoLote;
+    
+    UsuarioRepositoryExportacionImpl(EntityManager entityManager,
+                                     @Value("${usuarios.exportacion.tamano-lote:1000}") int tamanoLote) {
+        this.entityManager = entityManager;
+        this.tamanoLote = tamanoLote;
+    }
+    
+    @Override
+    public Stream<Usuario> findAllParaExportar() {
+        Session sesion = entityManager.unwrap(Session.class);
+        ScrollableResults<Usuario> cursor = sesion
+            .createSelectionQuery("SELECT u FROM Usuario u ORDER BY u.id", Usuario.class)
+            .setFetchSize(tamanoLote)
+            .setReadOnly(true)
+            .setCacheMode(CacheMode.IGNORE)
+            .scroll(ScrollMode.FORWARD_ONLY);
+        
+        Spliterator<Usuario> filas = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Usuario> accion) {
+                if (!cursor.next()) {
+                    return false;
+                }
+                // Fuera del contexto de persistencia antes de entregarlo:
+                // solo la referencia del consumidor lo mantiene vivo
+                Usuario usuario = cursor.get();
+                sesion.evict(usuario);
+                accion.accept(usuario);
+                return true;
+            }
+        };
+        return StreamSupport.stream(filas, false).onClose(cursor::close);
+    }
+}
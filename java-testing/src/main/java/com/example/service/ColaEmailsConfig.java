@@ -0,0 +1,39 @@
+package com.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Cola de envío de los emails encolados por EmailService
+ * 
+ * Pool gestionado por Spring con cola acotada: si se llena, el email lo
+ * envía el hilo que lo encola (frena al productor en lugar de perderlo).
+ * Al parar la aplicación se terminan los envíos pendientes, esperando
+ * como mucho usuarios.emails.espera-cierre-s segundos.
+ * 
+ * Al ser un Executor, el applicationTaskExecutor de Spring Boot no se
+ * crea; la aplicación no usa @Async.
+ */
+@Configuration
+public class ColaEmailsConfig {
+    
+    @Bean
+    public ThreadPoolTaskExecutor colaEnviosEmail(
+            @Value("${usuarios.emails.hilos:1}") int hilos,
+            @Value("${usuarios.emails.capacidad-cola:1000}") int capacidadCola,
+            @Value("${usuarios.emails.espera-cierre-s:30}") int esperaCierreSegundos) {
+        ThreadPoolTaskExecutor ejecutor = new ThreadPoolTaskExecutor();
+        ejecutor.setThreadNamePrefix("envio-emails-");
+        ejecutor.setCorePoolSize(hilos);
+        ejecutor.setMaxPoolSize(hilos);
+        ejecutor.setQueueCapacity(capacidadCola);
+        ejecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        ejecutor.setWaitForTasksToCompleteOnShutdown(true);
+        ejecutor.setAwaitTerminationSeconds(esperaCierreSegundos);
+        return ejecutor;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.service;
+
+import com.example.model.Usuario;
+import com.example.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Estadísticas de usuarios mantenidas en memoria
+ * 
+ * Los contadores se actualizan cuando Hibernate confirma la inserción,
+ * actualización o borrado de un Usuario (listeners post-commit), así que
+ * una transacción que hace rollback no los toca. Son LongAdder: cada hilo
+ * suma en su propia celda y leer es sumar las celdas, sin contención
+ * entre escrituras concurrentes.
+ * 
+ * Lo que no pasa por Hibernate (cargas JDBC, SQL a mano, otras instancias
+ * sobre la misma base de datos) no se ve: por eso se reconcilia contra la
+ * base de datos al arrancar y cada usuarios.estadisticas.reconciliacion-ms.
+ * 
+ * La reconciliación no toca los LongAdder: anota su suma justo antes de
+ * leer la base de datos y publica de una vez, en un array nuevo, el
+ * desfase entre la base de datos y esa suma. Todos los recuentos salen de
+ * una única sentencia agrupada, así que ven la misma instantánea: una
+ * escritura confirmada mientras se ejecuta no está en ella y solo cuenta
+ * por su listener, sin perderse ni duplicarse.
+ * 
+ * Queda una ventana: una escritura confirmada antes de que la sentencia
+ * tome su instantánea pero cuyo listener post-commit aún no ha corrido
+ * cuando se anotan las sumas se cuenta dos veces. Dura lo que tarda el
+ * listener tras el commit (mismo hilo, sin E/S); el desvío se corrige en
+ * la siguiente reconciliación, salvo que vuelva a coincidir otra.
+ */
+@Component
+public class ContadoresUsuarios implements InitializingBean, PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    
+    /**
+     * Tramos de edad; cada uno empieza en el límite correspondiente
+     */
+    public static final List<String> TRAMOS_EDAD = List.of("0-17", "18-29", "30-44", "45-64", "65+");
+    private static final int[] INICIO_TRAMOS = {0, 18, 30, 45, 65};
+    
+    // Posición de cada contador; los tramos de edad van a partir de TRAMO
+    private static final int TOTAL = 0;
+    private static final int ACTIVOS = 1;
+    private static final int MAYORES_EDAD = 2;
+    private static final int ACTIVOS_MAYORES_EDAD = 3;
+    private static final int SIN_EDAD = 4;
+    private static final int TRAMO = 5;
+    
+    private final UsuarioRepository usuarioRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    
+    // Solo los listeners los modifican; el valor publicado es suma + desfase
+    private final LongAdder[] contadores = new LongAdder[TRAMO + INICIO_TRAMOS.length];
+    private volatile long[] desfases = new long[contadores.length];
+    
+    public ContadoresUsuarios(UsuarioRepository usuarioRepository, EntityManagerFactory entityManagerFactory) {
+        this.usuarioRepository = usuarioRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] = new LongAdder();
+        }
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        if (entityManagerFactory != null) {
+            EventListenerRegistry registro = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+            registro.appendListeners(EventType.POST_COMMIT_INSERT, this);
+            registro.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+            registro.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        }
+        reconciliar();
+    }
+    
+    /**
+     * Estadísticas actuales, sin consultar la base de datos
+     */
+    public UsuarioService.EstadisticasUsuarios estadisticas() {
+        long[] desfasesActuales = desfases;
+        long[] valores = new long[contadores.length];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = contadores[i].sum() + desfasesActuales[i];
+        }
+        
+        Map<String, Long> tramos = new LinkedHashMap<>();
+        for (int i = 0; i < INICIO_TRAMOS.length; i++) {
+            tramos.put(TRAMOS_EDAD.get(i), valores[TRAMO + i]);
+        }
+        return new UsuarioService.EstadisticasUsuarios(valores[TOTAL], valores[ACTIVOS], valores[MAYORES_EDAD],
+            valores[ACTIVOS_MAYORES_EDAD], valores[SIN_EDAD], tramos);
+    }
+    
+    /**
+     * Iguala los contadores con la base de datos (una consulta agregada)
+     */
+    @Scheduled(fixedDelayString = "${usuarios.estadisticas.reconciliacion-ms:60000}",
+               initialDelayString = "${usuarios.estadisticas.reconciliacion-ms:60000}")
+    public synchronized void reconciliar() {
+        // Inmediatamente antes de la lectura, para acortar la ventana de doble conteo
+        long[] sumasPrevias = new long[contadores.length];
+        for (int i = 0; i < sumasPrevias.length; i++) {
+            sumasPrevias[i] = contadores[i].sum();
+        }
+        List<Object[]> filas = usuarioRepository.countPorEdadYActivo();
+        
+        long[] valores = new long[contadores.length];
+        for (Object[] fila : filas) {
+            Integer edad = fila[0] == null ? null : ((Number) fila[0]).intValue();
+            long usuarios = ((Number) fila[2]).longValue();
+            recorrerAfectados((Boolean) fila[1], edad, i -> valores[i] += usuarios);
+        }
+        
+        long[] nuevosDesfases = new long[contadores.length];
+        for (int i = 0; i < nuevosDesfases.length; i++) {
+            nuevosDesfases[i] = valores[i] - sumasPrevias[i];
+        }
+        desfases = nuevosDesfases;
+    }
+    
+    public void registrarAlta(Usuario usuario) {
+        sumar(usuario.getActivo(), usuario.getEdad(), 1);
+    }
+    
+    public void registrarCambio(Boolean activoAnterior, Integer edadAnterior, Usuario usuario) {
+        sumar(activoAnterior, edadAnterior, -1);
+        sumar(usuario.getActivo(), usuario.getEdad(), 1);
+    }
+    
+    public void registrarBaja(Usuario usuario) {
+        sumar(usuario.getActivo(), usuario.getEdad(), -1);
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Usuario) {
+            registrarAlta((Usuario) event.getEntity());
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] anterior = event.getOldState();
+        if (!(event.getEntity() instanceof Usuario)) {
+            return;
+        }
+        if (anterior == null) {
+            // Sin instantánea no se sabe qué cambió; lo corrige la reconciliación
+            return;
+        }
+        List<String> propiedades = Arrays.asList(event.getPersister().getPropertyNames());
+        registrarCambio((Boolean) anterior[propiedades.indexOf("activo")],
+            (Integer) anterior[propiedades.indexOf("edad")], (Usuario) event.getEntity());
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Usuario) {
+            registrarBaja((Usuario) event.getEntity());
+        }
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Sin commit no hay alta que contar
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Sin commit no hay cambio que contar
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Sin commit no hay baja que contar
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Usuario.class.equals(persister.getMappedClass());
+    }
+    
+    private void sumar(Boolean activo, Integer edad, int signo) {
+        recorrerAfectados(activo, edad, i -> contadores[i].add(signo));
+    }
+    
+    /**
+     * Pasa a la acción la posición de cada contador en el que cuenta un
+     * usuario con ese estado y edad (listeners y reconciliación, igual)
+     */
+    private static void recorrerAfectados(Boolean activo, Integer edad, IntConsumer accion) {
+        boolean estaActivo = Boolean.TRUE.equals(activo);
+        accion.accept(TOTAL);
+        if (estaActivo) {
+            accion.accept(ACTIVOS);
+        }
+        if (edad == null) {
+            accion.accept(SIN_EDAD);
+            return;
+        }
+        accion.accept(TRAMO + tramo(edad));
+        if (edad >= 18) {
+            accion.accept(MAYORES_EDAD);
+            if (estaActivo) {
+                accion.accept(ACTIVOS_MAYORES_EDAD);
+            }
+        }
+    }
+    
+    private static int tramo(int edad) {
+        int tramo = 0;
+        while (tramo + 1 < INICIO_TRAMOS.length && edad >= INICIO_TRAMOS[tramo + 1]) {
+            tramo++;
+        }
+        return tramo;
+    }
+}
@@ -1,8 +1,17 @@
 package com.example.service;
 
 import com.example.model.Usuario;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 /**
  * Servicio para envío de emails
  * 
@@ -10,7 +19,37 @@ import org.springframework.stereotype.Service;
  * para demostrar técnicas de testing con dependencias externas.
  */
 @Service
-public class EmailService {
+public class EmailService implements BeanFactoryAware, BeanNameAware {
+    
+    private final Executor colaEnvios;
+    private BeanFactory beanFactory;
+    private String nombreBean;
+    
+    /**
+     * Sin cola: los envíos encolados salen en el hilo que llama
+     * (instancias creadas fuera de Spring, como en pruebas y benchmarks)
+     */
+    public EmailService() {
+        this(Runnable::run);
+    }
+    
+    /**
+     * @param colaEnvios ejecutor de los envíos encolados (ver ColaEmailsConfig)
+     */
+    @Autowired
+    public EmailService(@Qualifier("colaEnviosEmail") Executor colaEnvios) {
+        this.colaEnvios = colaEnvios;
+    }
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+    
+    @Override
+    public void setBeanName(String nombreBean) {
+        this.nombreBean = nombreBean;
+    }
     
     /**
      * Envía email de bienvenida al usuario
@@ -38,6 +77,33 @@ public class EmailService {
         System.out.println("Mensaje: " + mensaje);
     }
     
+    /**
+     * Encola los emails de bienvenida de un lote de usuarios
+     * 
+     * Vuelve sin esperar: una única tarea los envía después uno tras otro,
+     * y el fallo de un email se registra sin detener el resto. Cada envío
+     * pasa por el bean de Spring, no por this, para que lo vean los
+     * aspectos de métricas, eventos JFR y trazas.
+     */
+    public void encolarEmailsBienvenida(List<Usuario> usuarios) {
+        if (usuarios == null || usuarios.isEmpty()) {
+            return;
+        }
+        
+        // Se resuelve aquí: la tarea puede ejecutarse con el contexto ya cerrándose
+        EmailService envios = beanFactory != null ? beanFactory.getBean(nombreBean, EmailService.class) : this;
+        List<Usuario> pendientes = new ArrayList<>(usuarios);
+        colaEnvios.execute(() -> {
+            for (Usuario usuario : pendientes) {
+                try {
+                    envios.enviarEmailBienvenida(usuario);
+                } catch (Exception e) {
+                    System.err.println("Error enviando email de bienvenida: " + e.getMessage());
+                }
+            }
+        });
+    }
+    
     /**
      * Envía email de despedida al usuario
      */
@@ -1,13 +1,36 @@
 package com.example.service;
 
+import com.example.model.ConteosUsuarios;
 import com.example.model.Usuario;
+import com.example.model.UsuarioResumen;
+import com.example.repository.FiltroUsuarios;
 import com.example.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Servicio para gestión de usuarios
@@ -18,48 +41,71 @@ import java.util.Optional;
 @Service
 public class UsuarioService {
     
+    /**
+     * Mensajes de error que identifican el motivo del fallo
+     * (también los usan las métricas para clasificar el resultado)
+     */
+    public static final String MENSAJE_EMAIL_DUPLICADO = "Ya existe un usuario con este email";
+    public static final String MENSAJE_USUARIO_NO_ENCONTRADO = "Usuario no encontrado";
+    
+    /**
+     * Límite de filas por página en las consultas paginadas
+     */
+    public static final int TAMANO_PAGINA_MAXIMO = 500;
+    
+    /**
+     * Filas de crearUsuariosEnLote que comparten consulta de duplicados e inserción
+     */
+    public static final int TAMANO_TRAMO_ALTAS = 1000;
+    
     private final UsuarioRepository usuarioRepository;
     private final EmailService emailService;
+    private final ContadoresUsuarios contadoresUsuarios;
     
     @Autowired
-    public UsuarioService(UsuarioRepository usuarioRepository, EmailService emailService) {
+    public UsuarioService(UsuarioRepository usuarioRepository, EmailService emailService,
+                          ContadoresUsuarios contadoresUsuarios) {
         this.usuarioRepository = usuarioRepository;
         this.emailService = emailService;
+        this.contadoresUsuarios = contadoresUsuarios;
+    }
+    
+    /**
+     * Sin contadores en memoria: las estadísticas se consultan a la base de datos
+     */
+    public UsuarioService(UsuarioRepository usuarioRepository, EmailService emailService) {
+        this(usuarioRepository, emailService, null);
     }
     
     /**
      * Crea un nuevo usuario con validaciones
      * Método principal para testing de lógica de negocio
+     * 
+     * El email duplicado no se comprueba antes: lo rechaza la restricción
+     * única de usuarios.email al insertar. Una sola ida y vuelta, y correcto
+     * aunque dos altas concurrentes usen el mismo email.
      */
     public Usuario crearUsuario(String nombre, String email, Integer edad) {
         // Validaciones que serán testeadas
-        if (nombre == null || nombre.trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre no puede estar vacío");
-        }
-        
-        if (email == null || email.trim().isEmpty()) {
-            throw new IllegalArgumentException("El email no puede estar vacío");
-        }
-        
-        if (edad == null || edad < 0) {
-            throw new IllegalArgumentException("La edad debe ser un número positivo");
-        }
-        
-        // Verificar si el email ya existe
-        if (usuarioRepository.existsByEmail(email)) {
-            throw new IllegalArgumentException("Ya existe un usuario con este email");
-        }
+        validarDatosAlta(nombre, email, edad);
         
         // Crear usuario
         Usuario usuario = new Usuario(nombre, email, edad);
         
         // Validar email antes de guardar
-        if (!usuario.tieneEmailValido()) {
-            throw new IllegalArgumentException("El formato del email no es válido");
-        }
+        validarFormatoEmail(usuario);
         
-        // Guardar usuario
-        Usuario usuarioGuardado = usuarioRepository.save(usuario);
+        // Guardar usuario; el flush lanza el INSERT aquí aunque haya una
+        // transacción abierta, para traducir la violación en este punto
+        Usuario usuarioGuardado;
+        try {
+            usuarioGuardado = usuarioRepository.saveAndFlush(usuario);
+        } catch (DataIntegrityViolationException e) {
+            if (esEmailDuplicado(e)) {
+                throw new IllegalArgumentException(MENSAJE_EMAIL_DUPLICADO);
+            }
+            throw e;
+        }
         
         // Enviar email de bienvenida (dependencia externa)
         try {
@@ -72,6 +118,88 @@ public class UsuarioService {
         return usuarioGuardado;
     }
     
+    /**
+     * Crea usuarios en bloque, por ejemplo al migrar los de un socio
+     * 
+     * Mismas validaciones que crearUsuario, pero un usuario que no las
+     * cumple no interrumpe el resto: cada fila tiene su resultado en el
+     * informe. Se procesan en tramos de TAMANO_TRAMO_ALTAS filas y cada
+     * tramo cuesta una consulta de duplicados (IN sobre sus emails, en vez
+     * de un existsByEmail por fila) y un saveAllAndFlush, que Hibernate
+     * inserta en lotes JDBC. Los emails de bienvenida se encolan por tramo.
+     * 
+     * Si un tramo choca con la restricción única (otro alta concurrente
+     * con el mismo email), se reintenta fila a fila para aislar el duplicado.
+     * 
+     * No admite una transacción abierta: cada inserción confirma la suya, y
+     * dentro de una transacción ajena el primer duplicado la dejaría marcada
+     * para rollback, deshaciendo también los tramos ya creados.
+     * 
+     * @throws IllegalStateException si se llama con una transacción activa
+     */
+    public ResultadoLote crearUsuariosEnLote(List<AltaUsuario> altas) {
+        if (altas == null) {
+            throw new IllegalArgumentException("La lista de usuarios no puede ser nula");
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("crearUsuariosEnLote no puede ejecutarse dentro de una transacción");
+        }
+        
+        ResultadoFila[] resultados = new ResultadoFila[altas.size()];
+        Set<String> emailsDelLote = new HashSet<>();
+        
+        for (int inicio = 0; inicio < altas.size(); inicio += TAMANO_TRAMO_ALTAS) {
+            int fin = Math.min(inicio + TAMANO_TRAMO_ALTAS, altas.size());
+            
+            // Validación fila a fila, sin base de datos
+            Map<Integer, Usuario> candidatos = new LinkedHashMap<>();
+            for (int i = inicio; i < fin; i++) {
+                AltaUsuario alta = altas.get(i);
+                try {
+                    if (alta == null) {
+                        throw new IllegalArgumentException("El usuario no puede ser nulo");
+                    }
+                    validarDatosAlta(alta.getNombre(), alta.getEmail(), alta.getEdad());
+                    Usuario usuario = new Usuario(alta.getNombre(), alta.getEmail(), alta.getEdad());
+                    validarFormatoEmail(usuario);
+                    if (!emailsDelLote.add(alta.getEmail())) {
+                        throw new IllegalArgumentException(MENSAJE_EMAIL_DUPLICADO);
+                    }
+                    candidatos.put(i, usuario);
+                } catch (IllegalArgumentException e) {
+                    resultados[i] = ResultadoFila.rechazado(i, alta != null ? alta.getEmail() : null, e.getMessage());
+                }
+            }
+            if (candidatos.isEmpty()) {
+                continue;
+            }
+            
+            // Duplicados contra la tabla: una consulta por tramo
+            List<String> emails = new ArrayList<>();
+            candidatos.values().forEach(usuario -> emails.add(usuario.getEmail()));
+            Set<String> existentes = new HashSet<>(usuarioRepository.findEmailsExistentes(emails));
+            candidatos.entrySet().removeIf(candidato -> {
+                String email = candidato.getValue().getEmail();
+                if (existentes.contains(email)) {
+                    resultados[candidato.getKey()] =
+                        ResultadoFila.rechazado(candidato.getKey(), email, MENSAJE_EMAIL_DUPLICADO);
+                    return true;
+                }
+                return false;
+            });
+            
+            List<Usuario> creados = guardarTramo(candidatos, resultados);
+            try {
+                emailService.encolarEmailsBienvenida(creados);
+            } catch (Exception e) {
+                // Igual que en crearUsuario: el email no hace fallar el alta
+                System.err.println("Error encolando emails de bienvenida: " + e.getMessage());
+            }
+        }
+        
+        return new ResultadoLote(Arrays.asList(resultados));
+    }
+    
     /**
      * Busca usuario por ID
      * Método simple para testing básico
@@ -102,18 +230,54 @@ public class UsuarioService {
         return usuarioRepository.findByActivoTrue();
     }
     
+    /**
+     * Obtiene id, nombre y email de los usuarios activos
+     * Para listados: no carga entidades completas
+     */
+    public List<UsuarioResumen> obtenerResumenUsuariosActivos() {
+        return usuarioRepository.findResumenByActivoTrue();
+    }
+    
+    /**
+     * Obtiene una página de usuarios activos ordenados por id
+     * 
+     * Paginación por clave: el token de continuación guarda el último id
+     * devuelto y la siguiente página busca a partir de él, sin OFFSET.
+     * Se pide una fila de más para saber si quedan páginas sin contar.
+     * 
+     * @param continuacion token de la página anterior, o null para la primera
+     * @param tamanoPagina filas por página (1 a TAMANO_PAGINA_MAXIMO)
+     */
+    public PaginaUsuarios obtenerUsuariosActivosPorPagina(String continuacion, int tamanoPagina) {
+        if (tamanoPagina <= 0 || tamanoPagina > TAMANO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException(
+                "El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO);
+        }
+        
+        long despuesDeId = leerContinuacion(continuacion);
+        List<Usuario> usuarios = usuarioRepository.findByActivoTrueAndIdGreaterThanOrderByIdAsc(
+            despuesDeId, PageRequest.of(0, tamanoPagina + 1));
+        
+        if (usuarios.size() <= tamanoPagina) {
+            return new PaginaUsuarios(usuarios, null);
+        }
+        
+        List<Usuario> pagina = new ArrayList<>(usuarios.subList(0, tamanoPagina));
+        return new PaginaUsuarios(pagina, crearContinuacion(pagina.get(tamanoPagina - 1).getId()));
+    }
+    
     /**
      * Actualiza información del usuario
      * Para testing de operaciones de actualización
      */
     public Usuario actualizarUsuario(Long id, String nombre, String email, Integer edad) {
         Usuario usuario = buscarPorId(id)
-            .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+            .orElseThrow(() -> new IllegalArgumentException(MENSAJE_USUARIO_NO_ENCONTRADO));
         
         // Validar nuevo email si cambió
         if (email != null && !email.equals(usuario.getEmail())) {
             if (usuarioRepository.existsByEmail(email)) {
-                throw new IllegalArgumentException("Ya existe un usuario con este email");
+                throw new IllegalArgumentException(MENSAJE_EMAIL_DUPLICADO);
             }
             usuario.setEmail(email);
         }
@@ -135,7 +299,7 @@ public class UsuarioService {
      */
     public void desactivarUsuario(Long id) {
         Usuario usuario = buscarPorId(id)
-            .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+            .orElseThrow(() -> new IllegalArgumentException(MENSAJE_USUARIO_NO_ENCONTRADO));
         
         usuario.setActivo(false);
         usuarioRepository.save(usuario);
@@ -151,33 +315,93 @@ public class UsuarioService {
     /**
      * Busca usuarios por criterios múltiples
      * Para testing de lógica compleja
+     * 
+     * Combina todos los criterios indicados (null: no filtra); activo=false
+     * busca solo los inactivos. Devuelve todas las filas que cumplen el
+     * filtro (sin criterios, la tabla entera); para listados usar la
+     * variante paginada.
      */
     public List<Usuario> buscarUsuarios(String nombre, Integer edadMinima, Boolean activo) {
-        if (nombre != null && !nombre.trim().isEmpty()) {
-            return usuarioRepository.findByNombreContainingIgnoreCase(nombre);
-        }
-        
-        if (edadMinima != null && activo != null) {
-            return usuarioRepository.findUsuariosActivosConEdadMinima(activo, edadMinima);
+        return buscarUsuarios(new FiltroUsuarios().nombre(nombre).edadMinima(edadMinima).activo(activo));
+    }
+    
+    /**
+     * Busca usuarios que cumplen todos los criterios del filtro
+     * en una única consulta
+     */
+    public List<Usuario> buscarUsuarios(FiltroUsuarios filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("El filtro de búsqueda no puede ser nulo");
         }
-        
-        if (activo != null && activo) {
-            return usuarioRepository.findByActivoTrue();
+        return usuarioRepository.findAll(filtro.comoSpecification());
+    }
+    
+    /**
+     * Busca usuarios por criterios múltiples, una página cada vez
+     * 
+     * Mismos criterios que la variante sin paginar.
+     */
+    public Slice<Usuario> buscarUsuarios(String nombre, Integer edadMinima, Boolean activo, Pageable pageable) {
+        return buscarUsuarios(new FiltroUsuarios().nombre(nombre).edadMinima(edadMinima).activo(activo), pageable);
+    }
+    
+    /**
+     * Busca usuarios que cumplen el filtro, una página cada vez
+     * 
+     * El tamaño de página se limita a TAMANO_PAGINA_MAXIMO aunque el cliente
+     * pida más (o pida sin paginar), y si no se indica orden se ordena por
+     * id para que las páginas sean estables. Devuelve Slice: no hay
+     * consulta count.
+     */
+    public Slice<Usuario> buscarUsuarios(FiltroUsuarios filtro, Pageable pageable) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("El filtro de búsqueda no puede ser nulo");
         }
-        
-        return usuarioRepository.findAll();
+        return usuarioRepository.findSlice(filtro.comoSpecification(), limitarPagina(pageable));
     }
     
     /**
      * Obtiene estadísticas de usuarios
-     * Para testing de métodos que combinan múltiples operaciones
+     * Con ContadoresUsuarios se responden en memoria, sin consultas; sin
+     * ellos todos los recuentos salen de una única consulta agregada
+     * (y no hay desglose por tramos de edad)
      */
     public EstadisticasUsuarios obtenerEstadisticas() {
-        long totalUsuarios = usuarioRepository.count();
-        long usuariosActivos = usuarioRepository.countByActivoTrue();
-        long usuariosMayoresEdad = usuarioRepository.findUsuariosMayoresDeEdad().size();
+        if (contadoresUsuarios != null) {
+            return contadoresUsuarios.estadisticas();
+        }
+        
+        ConteosUsuarios conteos = usuarioRepository.countEstadisticas();
         
-        return new EstadisticasUsuarios(totalUsuarios, usuariosActivos, usuariosMayoresEdad);
+        return new EstadisticasUsuarios(conteos.getTotal(), conteos.getActivos(), conteos.getMayoresEdad(),
+            conteos.getActivosMayoresEdad(), conteos.getSinEdad());
+    }
+    
+    /**
+     * Exporta todos los usuarios, ordenados por id, a un destino
+     * 
+     * Recorre la tabla con un cursor en lugar de findAll(): en memoria solo
+     * está el lote que se está leyendo, no la tabla entera. El destino
+     * recibe cada usuario ya desacoplado; para que la memoria se mantenga
+     * constante no debe quedarse con las referencias.
+     * 
+     * @return número de usuarios exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportarUsuarios(Consumer<Usuario> destino) {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino de la exportación no puede ser nulo");
+        }
+        
+        long exportados = 0;
+        try (Stream<Usuario> usuarios = usuarioRepository.findAllParaExportar()) {
+            Iterator<Usuario> iterador = usuarios.iterator();
+            while (iterador.hasNext()) {
+                destino.accept(iterador.next());
+                exportados++;
+            }
+        }
+        return exportados;
     }
     
     /**
@@ -186,11 +410,215 @@ public class UsuarioService {
      */
     public void eliminarUsuario(Long id) {
         if (!usuarioRepository.existsById(id)) {
-            throw new IllegalArgumentException("Usuario no encontrado");
+            throw new IllegalArgumentException(MENSAJE_USUARIO_NO_ENCONTRADO);
         }
         usuarioRepository.deleteById(id);
     }
     
+    private static void validarDatosAlta(String nombre, String email, Integer edad) {
+        if (nombre == null || nombre.trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre no puede estar vacío");
+        }
+        
+        if (email == null || email.trim().isEmpty()) {
+            throw new IllegalArgumentException("El email no puede estar vacío");
+        }
+        
+        if (edad == null || edad < 0) {
+            throw new IllegalArgumentException("La edad debe ser un número positivo");
+        }
+    }
+    
+    private static void validarFormatoEmail(Usuario usuario) {
+        if (!usuario.tieneEmailValido()) {
+            throw new IllegalArgumentException("El formato del email no es válido");
+        }
+    }
+    
+    /**
+     * Si la violación es de la restricción única del email; el resto
+     * (nulos, longitudes) no debe presentarse como email duplicado
+     */
+    private static boolean esEmailDuplicado(DataIntegrityViolationException e) {
+        String mensaje = e.getMostSpecificCause().getMessage();
+        return mensaje != null
+            && mensaje.toLowerCase(Locale.ROOT).contains(Usuario.RESTRICCION_EMAIL_UNICO);
+    }
+    
+    /**
+     * Inserta los candidatos de un tramo y anota su resultado
+     * 
+     * Con flush en cada llamada: la violación de la restricción única salta
+     * aquí, y no al confirmar fuera del try.
+     * 
+     * @return usuarios creados
+     */
+    private List<Usuario> guardarTramo(Map<Integer, Usuario> candidatos, ResultadoFila[] resultados) {
+        List<Integer> indices = new ArrayList<>(candidatos.keySet());
+        List<Usuario> creados;
+        try {
+            creados = usuarioRepository.saveAllAndFlush(new ArrayList<>(candidatos.values()));
+        } catch (DataIntegrityViolationException e) {
+            // Un alta concurrente ocupó algún email: fila a fila, con usuarios
+            // nuevos porque los del tramo fallido ya tienen id asignado
+            creados = new ArrayList<>();
+            for (Integer indice : indices) {
+                Usuario candidato = candidatos.get(indice);
+                try {
+                    Usuario creado = usuarioRepository.saveAndFlush(
+                        new Usuario(candidato.getNombre(), candidato.getEmail(), candidato.getEdad()));
+                    creados.add(creado);
+                    resultados[indice] = ResultadoFila.creado(indice, creado);
+                } catch (DataIntegrityViolationException duplicado) {
+                    if (!esEmailDuplicado(duplicado)) {
+                        throw duplicado;
+                    }
+                    resultados[indice] = ResultadoFila.rechazado(indice, candidato.getEmail(), MENSAJE_EMAIL_DUPLICADO);
+                }
+            }
+            return creados;
+        }
+        
+        for (int i = 0; i < indices.size(); i++) {
+            resultados[indices.get(i)] = ResultadoFila.creado(indices.get(i), creados.get(i));
+        }
+        return creados;
+    }
+    
+    private static Pageable limitarPagina(Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return PageRequest.of(0, TAMANO_PAGINA_MAXIMO, Sort.by("id"));
+        }
+        
+        Sort orden = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        int tamano = Math.min(pageable.getPageSize(), TAMANO_PAGINA_MAXIMO);
+        return PageRequest.of(pageable.getPageNumber(), tamano, orden);
+    }
+    
+    private static String crearContinuacion(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(String.valueOf(ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static long leerContinuacion(String continuacion) {
+        if (continuacion == null || continuacion.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(continuacion), StandardCharsets.UTF_8);
+            return Long.parseLong(id);
+        } catch (IllegalArgumentException e) {
+            // Base64 inválido o contenido no numérico (NumberFormatException)
+            throw new IllegalArgumentException("Token de continuación no válido");
+        }
+    }
+    
+    /**
+     * Datos de un usuario a crear con crearUsuariosEnLote
+     */
+    public static class AltaUsuario {
+        private final String nombre;
+        private final String email;
+        private final Integer edad;
+        
+        public AltaUsuario(String nombre, String email, Integer edad) {
+            this.nombre = nombre;
+            this.email = email;
+            this.edad = edad;
+        }
+        
+        public String getNombre() { return nombre; }
+        public String getEmail() { return email; }
+        public Integer getEdad() { return edad; }
+    }
+    
+    /**
+     * Resultado de una fila de crearUsuariosEnLote: el usuario creado
+     * o el motivo del rechazo (los mismos mensajes que crearUsuario)
+     */
+    public static class ResultadoFila {
+        private final int indice;
+        private final String email;
+        private final Usuario usuario;
+        private final String error;
+        
+        private ResultadoFila(int indice, String email, Usuario usuario, String error) {
+            this.indice = indice;
+            this.email = email;
+            this.usuario = usuario;
+            this.error = error;
+        }
+        
+        static ResultadoFila creado(int indice, Usuario usuario) {
+            return new ResultadoFila(indice, usuario.getEmail(), usuario, null);
+        }
+        
+        static ResultadoFila rechazado(int indice, String email, String error) {
+            return new ResultadoFila(indice, email, null, error);
+        }
+        
+        /**
+         * Posición de la fila en la lista de entrada
+         */
+        public int getIndice() { return indice; }
+        public String getEmail() { return email; }
+        
+        /**
+         * Usuario creado, o null si la fila se rechazó
+         */
+        public Usuario getUsuario() { return usuario; }
+        
+        /**
+         * Motivo del rechazo, o null si se creó
+         */
+        public String getError() { return error; }
+        
+        public boolean isCreado() { return usuario != null; }
+    }
+    
+    /**
+     * Informe de crearUsuariosEnLote, con una fila por cada entrada y en su orden
+     */
+    public static class ResultadoLote {
+        private final List<ResultadoFila> filas;
+        
+        public ResultadoLote(List<ResultadoFila> filas) {
+            this.filas = Collections.unmodifiableList(filas);
+        }
+        
+        public List<ResultadoFila> getFilas() { return filas; }
+        
+        public long getCreados() {
+            return filas.stream().filter(ResultadoFila::isCreado).count();
+        }
+        
+        public long getRechazados() {
+            return filas.size() - getCreados();
+        }
+    }
+    
+    /**
+     * Página de resultados con el token para pedir la siguiente
+     */
+    public static class PaginaUsuarios {
+        private final List<Usuario> usuarios;
+        private final String continuacion;
+        
+        public PaginaUsuarios(List<Usuario> usuarios, String continuacion) {
+            this.usuarios = Collections.unmodifiableList(usuarios);
+            this.continuacion = continuacion;
+        }
+        
+        public List<Usuario> getUsuarios() { return usuarios; }
+        
+        /**
+         * Token de la siguiente página, o null si esta es la última
+         */
+        public String getContinuacion() { return continuacion; }
+        
+        public boolean hayMas() { return continuacion != null; }
+    }
+    
     /**
      * Clase interna para estadísticas
      * Útil para testing de objetos de respuesta
@@ -199,15 +627,40 @@ public class UsuarioService {
         private final long totalUsuarios;
         private final long usuariosActivos;
         private final long usuariosMayoresEdad;
+        private final long usuariosActivosMayoresEdad;
+        private final long usuariosSinEdad;
+        private final Map<String, Long> usuariosPorTramoEdad;
         
         public EstadisticasUsuarios(long totalUsuarios, long usuariosActivos, long usuariosMayoresEdad) {
+            this(totalUsuarios, usuariosActivos, usuariosMayoresEdad, 0, 0);
+        }
+        
+        public EstadisticasUsuarios(long totalUsuarios, long usuariosActivos, long usuariosMayoresEdad,
+                                    long usuariosActivosMayoresEdad, long usuariosSinEdad) {
+            this(totalUsuarios, usuariosActivos, usuariosMayoresEdad, usuariosActivosMayoresEdad, usuariosSinEdad,
+                Collections.emptyMap());
+        }
+        
+        public EstadisticasUsuarios(long totalUsuarios, long usuariosActivos, long usuariosMayoresEdad,
+                                    long usuariosActivosMayoresEdad, long usuariosSinEdad,
+                                    Map<String, Long> usuariosPorTramoEdad) {
             this.totalUsuarios = totalUsuarios;
             this.usuariosActivos = usuariosActivos;
             this.usuariosMayoresEdad = usuariosMayoresEdad;
+            this.usuariosActivosMayoresEdad = usuariosActivosMayoresEdad;
+            this.usuariosSinEdad = usuariosSinEdad;
+            this.usuariosPorTramoEdad = Collections.unmodifiableMap(usuariosPorTramoEdad);
         }
         
         public long getTotalUsuarios() { return totalUsuarios; }
         public long getUsuariosActivos() { return usuariosActivos; }
         public long getUsuariosMayoresEdad() { return usuariosMayoresEdad; }
+        public long getUsuariosActivosMayoresEdad() { return usuariosActivosMayoresEdad; }
+        public long getUsuariosSinEdad() { return usuariosSinEdad; }
+        
+        /**
+         * Usuarios por tramo de edad (ContadoresUsuarios.TRAMOS_EDAD), sin los de edad nula
+         */
+        public Map<String, Long> getUsuariosPorTramoEdad() { return usuariosPorTramoEdad; }
     }
 }
\ No newline at end of file
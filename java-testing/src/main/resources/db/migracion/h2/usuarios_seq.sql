@@ -0,0 +1,23 @@
+-- Paso de Usuario.id de IDENTITY a la secuencia usuarios_seq (sintaxis H2 2.x)
+--
+-- Ejecutar antes de arrancar la aplicación sobre una base de datos creada
+-- cuando Usuario.id era IDENTITY, o con filas cargadas con ids propios.
+-- Con ddl-auto=create-drop no hace falta: Hibernate crea la secuencia.
+--
+-- Crea la secuencia si no existe y la deja por delante de MAX(id) con una
+-- reserva completa libre: el optimizador pooled usa los 50 valores
+-- (Usuario.IDS_POR_RESERVA) que terminan en el que devuelve la secuencia.
+-- No consume valores (lee BASE_VALUE en lugar de NEXT VALUE FOR) y nunca
+-- la retrasa, así que se puede ejecutar varias veces.
+--
+-- En otras bases de datos el equivalente es su CREATE SEQUENCE IF NOT EXISTS
+-- más el reinicio propio del motor (p. ej. setval en PostgreSQL).
+
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE usuarios_seq RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(id), 0) + 50 + 1,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES
+                     WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = 'USUARIOS_SEQ'))
+    FROM usuarios
+);
@@ -0,0 +1,108 @@
+package com.example.integration;
+
+import com.example.observability.OperacionEnCurso;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cuenta las idas y vueltas a la base de datos de cada llamada a UsuarioService
+ * 
+ * Como listener de datasource-proxy ve cada sentencia JDBC y cada
+ * commit/rollback sobre la conexión, y los atribuye a la invocación de
+ * UsuarioService activa en el hilo (OperacionEnCurso). Cada invocación se
+ * cuenta por separado, de modo que las sentencias que prepara una prueba
+ * no se suman a las de la operación que se está midiendo.
+ * 
+ * Las sentencias por lotes cuentan como una sola ida y vuelta.
+ */
+public class ContadorIdasYVueltas implements QueryExecutionListener, MethodExecutionListener {
+    
+    // La clave es la propia invocación (identidad), no su nombre
+    private final Map<OperacionEnCurso, Conteo> porInvocacion = new ConcurrentHashMap<>();
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Solo interesa la sentencia ya ejecutada
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Conteo conteo = conteoActual();
+        if (conteo != null) {
+            conteo.sentencias.incrementAndGet();
+        }
+    }
+    
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // Solo interesa el método ya ejecutado
+    }
+    
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!(executionContext.getTarget() instanceof Connection)) {
+            return;
+        }
+        String metodo = executionContext.getMethod().getName();
+        if ("commit".equals(metodo) || "rollback".equals(metodo)) {
+            Conteo conteo = conteoActual();
+            if (conteo != null) {
+                conteo.transacciones.incrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Olvida todo lo contado hasta ahora
+     */
+    public void reiniciar() {
+        porInvocacion.clear();
+    }
+    
+    /**
+     * Conteos de cada invocación registrada, agrupados por operación
+     */
+    public Map<String, List<Conteo>> invocaciones() {
+        Map<String, List<Conteo>> resultado = new LinkedHashMap<>();
+        porInvocacion.forEach((operacion, conteo) ->
+            resultado.computeIfAbsent(operacion.getNombre(), nombre -> new ArrayList<>()).add(conteo));
+        return resultado;
+    }
+    
+    private Conteo conteoActual() {
+        OperacionEnCurso operacion = OperacionEnCurso.actual();
+        return operacion != null ? porInvocacion.computeIfAbsent(operacion, o -> new Conteo()) : null;
+    }
+    
+    /**
+     * Idas y vueltas de una única invocación
+     */
+    public static class Conteo {
+        private final AtomicInteger sentencias = new AtomicInteger();
+        private final AtomicInteger transacciones = new AtomicInteger();
+        
+        public int getSentencias() {
+            return sentencias.get();
+        }
+        
+        public int getTransacciones() {
+            return transacciones.get();
+        }
+        
+        @Override
+        public String toString() {
+            return sentencias.get() + " sentencias, " + transacciones.get() + " transacciones";
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.integration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de sentencias y transacciones por llamada a una operación de UsuarioService
+ * 
+ * Lo comprueba PresupuestoIdasYVueltasExtension al terminar la prueba, para
+ * cada invocación de la operación hecha durante ella. Se puede declarar en el
+ * método o en la clase (y entonces aplica a todas sus pruebas); si ambos
+ * declaran la misma operación, manda el del método.
+ * 
+ * Ejemplo: {@code @PresupuestoIdasYVueltas(operacion = "crearUsuario", sentencias = 2)}
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(PresupuestoIdasYVueltas.Varios.class)
+public @interface PresupuestoIdasYVueltas {
+    
+    /**
+     * Sin límite
+     */
+    int ILIMITADO = -1;
+    
+    /**
+     * Nombre del método de UsuarioService
+     */
+    String operacion();
+    
+    /**
+     * Sentencias JDBC permitidas por llamada
+     */
+    int sentencias() default ILIMITADO;
+    
+    /**
+     * Commits y rollbacks permitidos por llamada
+     */
+    int transacciones() default ILIMITADO;
+    
+    @Target({ElementType.METHOD, ElementType.TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Varios {
+        PresupuestoIdasYVueltas[] value();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.integration;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extensión JUnit 5 que hace cumplir los @PresupuestoIdasYVueltas de una prueba
+ * 
+ * Reinicia el ContadorIdasYVueltas del contexto Spring justo antes del
+ * método de prueba (después de los @BeforeEach, cuya preparación no cuenta)
+ * y, al terminar, falla si alguna invocación de una operación con
+ * presupuesto emitió más sentencias o transacciones de las permitidas.
+ * 
+ * La clase de prueba debe importar ContadorIdasYVueltas para que
+ * DataSourceProxyPostProcessor lo conecte al DataSource:
+ * 
+ * <pre>
+ * &#64;SpringBootTest
+ * &#64;Import(ContadorIdasYVueltas.class)
+ * &#64;ExtendWith(PresupuestoIdasYVueltasExtension.class)
+ * </pre>
+ */
+public class PresupuestoIdasYVueltasExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        contador(context).reiniciar();
+    }
+    
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            // El fallo original es más útil que el del presupuesto
+            return;
+        }
+        
+        Map<String, PresupuestoIdasYVueltas> presupuestos = presupuestos(context);
+        Map<String, List<ContadorIdasYVueltas.Conteo>> invocaciones = contador(context).invocaciones();
+        List<String> excesos = new ArrayList<>();
+        
+        presupuestos.forEach((operacion, presupuesto) -> {
+            for (ContadorIdasYVueltas.Conteo conteo : invocaciones.getOrDefault(operacion, Collections.emptyList())) {
+                if (excede(conteo.getSentencias(), presupuesto.sentencias())
+                        || excede(conteo.getTransacciones(), presupuesto.transacciones())) {
+                    excesos.add(operacion + ": " + conteo + " (presupuesto: "
+                        + describir(presupuesto.sentencias()) + " sentencias, "
+                        + describir(presupuesto.transacciones()) + " transacciones)");
+                }
+            }
+        });
+        
+        if (!excesos.isEmpty()) {
+            throw new AssertionError("Presupuesto de idas y vueltas superado:\n  " + String.join("\n  ", excesos));
+        }
+    }
+    
+    /**
+     * Presupuestos por operación: primero los de la clase, luego los del método
+     */
+    private static Map<String, PresupuestoIdasYVueltas> presupuestos(ExtensionContext context) {
+        Map<String, PresupuestoIdasYVueltas> presupuestos = new LinkedHashMap<>();
+        context.getTestClass().ifPresent(clase ->
+            AnnotationSupport.findRepeatableAnnotations(clase, PresupuestoIdasYVueltas.class)
+                .forEach(presupuesto -> presupuestos.put(presupuesto.operacion(), presupuesto)));
+        context.getTestMethod().ifPresent(metodo ->
+            AnnotationSupport.findRepeatableAnnotations(metodo, PresupuestoIdasYVueltas.class)
+                .forEach(presupuesto -> presupuestos.put(presupuesto.operacion(), presupuesto)));
+        return presupuestos;
+    }
+    
+    private static ContadorIdasYVueltas contador(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(ContadorIdasYVueltas.class);
+    }
+    
+    private static boolean excede(int real, int maximo) {
+        return maximo != PresupuestoIdasYVueltas.ILIMITADO && real > maximo;
+    }
+    
+    private static String describir(int maximo) {
+        return maximo == PresupuestoIdasYVueltas.ILIMITADO ? "sin límite de" : "máx. " + maximo;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.integration;
+
+import com.example.model.Usuario;
+import com.example.service.UsuarioService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Migración de Usuario.id de IDENTITY a la secuencia usuarios_seq
+ * 
+ * PROPÓSITO:
+ * Verificar que db/migracion/h2/usuarios_seq.sql deja la secuencia por
+ * delante de los ids existentes (filas de cuando Usuario.id era IDENTITY),
+ * la crea si no existe y se puede ejecutar varias veces sin moverla.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - JdbcTemplate para simular datos heredados con ids explícitos
+ * - ResourceDatabasePopulator para ejecutar el script de migración
+ * - Contexto Spring completo sobre H2 y una base de datos H2 aparte
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("SecuenciaUsuarios - Pruebas de Integración")
+class SecuenciaUsuariosIT {
+    
+    private static final String MIGRACION = "db/migracion/h2/usuarios_seq.sql";
+    
+    private static final String VALOR_SECUENCIA = "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES"
+        + " WHERE SEQUENCE_NAME = 'USUARIOS_SEQ'";
+    
+    @Autowired
+    private UsuarioService usuarioService;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    @DisplayName("Altas tras filas heredadas y la migración no deben repetir ids")
+    void altasTrasFilasHeredadasYMigracion_noDebenRepetirIds() {
+        // Given - una fila con id por delante de la secuencia y de la reserva en curso
+        Long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM usuarios", Long.class);
+        long idHeredado = Math.max(maximo, valorSecuencia(jdbcTemplate)) + 10 * Usuario.IDS_POR_RESERVA;
+        jdbcTemplate.update("INSERT INTO usuarios (id, nombre, email, edad, activo, fecha_registro)"
+                + " VALUES (?, ?, ?, ?, ?, ?)",
+            idHeredado, "Heredado", "heredado" + idHeredado + "@example.com", 40, true,
+            Timestamp.valueOf(LocalDateTime.now()));
+        
+        // When - más altas que una reserva: al menos una sale de la secuencia reiniciada
+        migrar(dataSource);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i <= Usuario.IDS_POR_RESERVA; i++) {
+            ids.add(usuarioService.crearUsuario("Nuevo", "nuevo" + i + "." + idHeredado + "@example.com", 30).getId());
+        }
+        
+        // Then
+        assertThat(ids).doesNotHaveDuplicates().doesNotContain(idHeredado);
+        assertThat(ids.get(ids.size() - 1)).isGreaterThan(idHeredado);
+    }
+    
+    @Test
+    @DisplayName("Migración sin secuencia previa debe crearla y repetirse sin moverla")
+    void migracionSinSecuenciaPrevia_debeCrearlaYRepetirseSinMoverla() {
+        // Given - el esquema de IDENTITY: la tabla existe, la secuencia no
+        DriverManagerDataSource heredada = new DriverManagerDataSource("jdbc:h2:mem:heredada;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcHeredado = new JdbcTemplate(heredada);
+        jdbcHeredado.execute("CREATE TABLE usuarios (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+        jdbcHeredado.update("INSERT INTO usuarios (id) VALUES (1), (2), (500)");
+        
+        try {
+            // When
+            migrar(heredada);
+            long primera = valorSecuencia(jdbcHeredado);
+            migrar(heredada);
+            
+            // Then - una reserva completa libre por encima de MAX(id)
+            assertThat(primera).isEqualTo(500L + Usuario.IDS_POR_RESERVA + 1);
+            assertThat(valorSecuencia(jdbcHeredado)).isEqualTo(primera);
+        } finally {
+            jdbcHeredado.execute("DROP ALL OBJECTS");
+        }
+    }
+    
+    private static void migrar(DataSource destino) {
+        new ResourceDatabasePopulator(new ClassPathResource(MIGRACION)).execute(destino);
+    }
+    
+    private static long valorSecuencia(JdbcTemplate jdbc) {
+        return jdbc.queryForObject(VALOR_SECUENCIA, Long.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.integration;
+
+import com.example.model.Usuario;
+import com.example.model.UsuarioResumen;
+import com.example.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Consultas de resumen de UsuarioRepository frente a sus equivalentes derivadas
+ * 
+ * PROPÓSITO:
+ * Las variantes UsuarioResumen se escriben a mano con @Query; deben
+ * devolver las mismas filas que la consulta derivada a la que sustituyen,
+ * también cuando el texto trae comodines de LIKE.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("UsuarioRepository - Consultas de Resumen")
+class UsuarioRepositoryResumenIT {
+    
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    
+    private final List<Usuario> creados = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        creados.add(usuarioRepository.save(new Usuario("Ana 100% Real", "ana.resumen@example.com", 30)));
+        creados.add(usuarioRepository.save(new Usuario("Ana 1000 Real", "ana1000.resumen@example.com", 30)));
+        creados.add(usuarioRepository.save(new Usuario("Juan_Pérez", "juan.resumen@example.com", 40)));
+        creados.add(usuarioRepository.save(new Usuario("JuanXPérez", "juanx.resumen@example.com", 40)));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        usuarioRepository.deleteAll(creados);
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"100%", "n_p", "ana", "%"})
+    @DisplayName("Resumen por nombre debe devolver las mismas filas que la consulta derivada")
+    void resumenPorNombre_debeCoincidirConConsultaDerivada(String texto) {
+        // When
+        List<Long> derivada = usuarioRepository.findByNombreContainingIgnoreCase(texto).stream()
+            .map(Usuario::getId).toList();
+        List<Long> resumen = usuarioRepository.findResumenByNombreContainingIgnoreCase(texto).stream()
+            .map(UsuarioResumen::getId).toList();
+        
+        // Then
+        assertThat(resumen).containsExactlyInAnyOrderElementsOf(derivada);
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.integration;
+
+import com.example.model.Usuario;
+import com.example.service.EmailService;
+import com.example.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Prueba de carga multihilo de UsuarioService sobre H2
+ * 
+ * PROPÓSITO:
+ * Detectar precipicios de escalabilidad (contención en el índice único de
+ * email, agotamiento del pool de conexiones, bloqueos de H2) antes de que
+ * lleguen a producción.
+ * 
+ * FUNCIONAMIENTO:
+ * - Levanta el contexto Spring completo con JPA sobre H2
+ * - Precarga usuarios y reparte una mezcla ponderada de operaciones
+ *   (crear, buscar por id/email, actualizar, desactivar, buscar, estadísticas)
+ *   entre varios hilos durante un tiempo fijo, para cada nivel de concurrencia
+ * - Mide cada llamada con HdrHistogram y escribe un informe JSON con
+ *   throughput y percentiles por operación
+ * 
+ * CONFIGURACIÓN (propiedades de sistema, p. ej. mvn verify -Dcarga.hilos=8,64):
+ * - carga.hilos: niveles de concurrencia separados por comas (1,16,64)
+ * - carga.duracionSegundos: duración medida de cada nivel (5)
+ * - carga.calentamientoSegundos: duración previa sin medir (2)
+ * - carga.mezcla: pesos por operación (crear=25,buscarId=25,...)
+ * - carga.reporte: ruta del informe (target/carga/reporte-carga.json)
+ * 
+ * El EmailService real escribe cada email por consola; aquí se sustituye por
+ * uno silencioso para que la salida no domine la medición.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("UsuarioService - Prueba de Carga")
+class UsuarioServiceCargaIT {
+    
+    private static final int USUARIOS_PRECARGADOS = 500;
+    private static final int CAPACIDAD_MUESTRA = 4096;
+    
+    /**
+     * Operaciones que reproduce la prueba
+     */
+    enum Operacion {
+        CREAR("crear"),
+        BUSCAR_ID("buscarId"),
+        BUSCAR_EMAIL("buscarEmail"),
+        ACTUALIZAR("actualizar"),
+        DESACTIVAR("desactivar"),
+        BUSCAR("buscar"),
+        ESTADISTICAS("estadisticas");
+        
+        final String clave;
+        
+        Operacion(String clave) {
+            this.clave = clave;
+        }
+        
+        static Operacion deClave(String clave) {
+            for (Operacion operacion : values()) {
+                if (operacion.clave.equals(clave)) {
+                    return operacion;
+                }
+            }
+            throw new IllegalArgumentException("Operación de carga desconocida: " + clave);
+        }
+    }
+    
+    @TestConfiguration
+    static class EmailSilencioso {
+        
+        @Bean
+        @Primary
+        EmailService emailServiceSilencioso() {
+            return new EmailService() {
+                @Override
+                public void enviarEmailBienvenida(Usuario usuario) {
+                    construirMensajeBienvenida(usuario);
+                }
+                
+                @Override
+                public void enviarEmailDespedida(Usuario usuario) {
+                    // Sin salida por consola
+                }
+            };
+        }
+    }
+    
+    @Autowired
+    private UsuarioService usuarioService;
+    
+    // Usuarios ya creados sobre los que actúan las lecturas y actualizaciones
+    private final AtomicReferenceArray<Usuario> muestra = new AtomicReferenceArray<>(CAPACIDAD_MUESTRA);
+    private final AtomicLong creados = new AtomicLong();
+    private final AtomicLong secuenciaEmail = new AtomicLong();
+    
+    @BeforeEach
+    void precargarUsuarios() {
+        for (int i = 0; i < USUARIOS_PRECARGADOS; i++) {
+            registrar(usuarioService.crearUsuario("Usuario Carga " + i, siguienteEmail(), 18 + i % 60));
+        }
+    }
+    
+    @Test
+    @DisplayName("Mezcla de operaciones concurrentes debe completarse sin errores inesperados")
+    void mezclaConcurrente_debeCompletarseSinErroresInesperados() throws Exception {
+        // Given
+        int[] niveles = leerNiveles(System.getProperty("carga.hilos", "1,16,64"));
+        long duracion = Long.getLong("carga.duracionSegundos", 5);
+        long calentamiento = Long.getLong("carga.calentamientoSegundos", 2);
+        String textoMezcla = System.getProperty("carga.mezcla",
+            "crear=25,buscarId=25,buscarEmail=15,actualizar=15,desactivar=5,buscar=10,estadisticas=5");
+        Map<Operacion, Integer> mezcla = leerMezcla(textoMezcla);
+        File destino = new File(System.getProperty("carga.reporte", "target/carga/reporte-carga.json"));
+        
+        // When
+        List<Map<String, Object>> resultadosPorNivel = new ArrayList<>();
+        List<String> erroresInesperados = new ArrayList<>();
+        for (int hilos : niveles) {
+            ejecutar(hilos, calentamiento, mezcla, null);
+            ResultadoNivel resultado = ejecutar(hilos, duracion, mezcla, new ResultadoNivel());
+            resultadosPorNivel.add(resultado.aMapa(hilos, duracion));
+            erroresInesperados.addAll(resultado.erroresInesperados);
+        }
+        
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("duracionSegundos", duracion);
+        reporte.put("calentamientoSegundos", calentamiento);
+        reporte.put("mezcla", textoMezcla);
+        reporte.put("usuariosPrecargados", USUARIOS_PRECARGADOS);
+        reporte.put("niveles", resultadosPorNivel);
+        escribirReporte(destino, reporte);
+        
+        // Then
+        assertThat(destino).exists();
+        assertThat(erroresInesperados).isEmpty();
+        for (Map<String, Object> nivel : resultadosPorNivel) {
+            assertThat((Long) nivel.get("totalOperaciones")).isPositive();
+        }
+    }
+    
+    /**
+     * Ejecuta la mezcla con el número de hilos indicado durante un tiempo fijo
+     * 
+     * @param resultado acumulador de mediciones, o null para solo calentar
+     */
+    private ResultadoNivel ejecutar(int hilos, long segundos, Map<Operacion, Integer> mezcla,
+                                    ResultadoNivel resultado) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<MedicionHilo>> futuros = new ArrayList<>();
+        
+        try {
+            for (int i = 0; i < hilos; i++) {
+                futuros.add(ejecutor.submit(() -> {
+                    salida.await();
+                    return ejecutarHilo(segundos, mezcla);
+                }));
+            }
+            
+            long inicio = System.nanoTime();
+            salida.countDown();
+            for (Future<MedicionHilo> futuro : futuros) {
+                MedicionHilo medicion = futuro.get();
+                if (resultado != null) {
+                    resultado.acumular(medicion);
+                }
+            }
+            if (resultado != null) {
+                resultado.nanosTranscurridos = System.nanoTime() - inicio;
+            }
+        } finally {
+            ejecutor.shutdownNow();
+            ejecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return resultado;
+    }
+    
+    private MedicionHilo ejecutarHilo(long segundos, Map<Operacion, Integer> mezcla) {
+        MedicionHilo medicion = new MedicionHilo();
+        int pesoTotal = mezcla.values().stream().mapToInt(Integer::intValue).sum();
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        
+        while (System.nanoTime() < fin) {
+            Operacion operacion = elegir(mezcla, random.nextInt(pesoTotal));
+            long inicio = System.nanoTime();
+            try {
+                invocar(operacion, random);
+                medicion.registrar(operacion, System.nanoTime() - inicio);
+            } catch (IllegalArgumentException e) {
+                // Errores de negocio: se miden y cuentan, pero son esperables
+                medicion.registrar(operacion, System.nanoTime() - inicio);
+                medicion.errores.merge(operacion, 1L, Long::sum);
+            } catch (RuntimeException e) {
+                medicion.errores.merge(operacion, 1L, Long::sum);
+                medicion.erroresInesperados.add(operacion.clave + ": " + e);
+            }
+        }
+        return medicion;
+    }
+    
+    private void invocar(Operacion operacion, ThreadLocalRandom random) {
+        Usuario usuario = muestra.get(random.nextInt((int) Math.min(creados.get(), CAPACIDAD_MUESTRA)));
+        
+        switch (operacion) {
+            case CREAR:
+                registrar(usuarioService.crearUsuario("Usuario Carga " + random.nextInt(100_000),
+                    siguienteEmail(), random.nextInt(90)));
+                break;
+            case BUSCAR_ID:
+                usuarioService.buscarPorId(usuario.getId());
+                break;
+            case BUSCAR_EMAIL:
+                usuarioService.buscarPorEmail(usuario.getEmail());
+                break;
+            case ACTUALIZAR:
+                // Uno de cada cuatro cambia el email para ejercitar el índice único
+                String nuevoEmail = random.nextInt(4) == 0 ? siguienteEmail() : null;
+                registrar(usuarioService.actualizarUsuario(usuario.getId(),
+                    "Usuario Carga " + random.nextInt(100_000), nuevoEmail, random.nextInt(90)));
+                break;
+            case DESACTIVAR:
+                usuarioService.desactivarUsuario(usuario.getId());
+                break;
+            case BUSCAR:
+                usuarioService.buscarUsuarios("carga " + random.nextInt(1000), null, null);
+                break;
+            case ESTADISTICAS:
+                usuarioService.obtenerEstadisticas();
+                break;
+            default:
+                throw new IllegalStateException("Operación no soportada: " + operacion);
+        }
+    }
+    
+    private void registrar(Usuario usuario) {
+        long posicion = creados.getAndIncrement();
+        muestra.set((int) (posicion % CAPACIDAD_MUESTRA), usuario);
+    }
+    
+    private String siguienteEmail() {
+        return "carga" + secuenciaEmail.incrementAndGet() + "@example.com";
+    }
+    
+    private static Operacion elegir(Map<Operacion, Integer> mezcla, int sorteo) {
+        int acumulado = 0;
+        for (Map.Entry<Operacion, Integer> entrada : mezcla.entrySet()) {
+            acumulado += entrada.getValue();
+            if (sorteo < acumulado) {
+                return entrada.getKey();
+            }
+        }
+        throw new IllegalStateException("Mezcla sin pesos");
+    }
+    
+    private static int[] leerNiveles(String texto) {
+        String[] partes = texto.split(",");
+        int[] niveles = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            niveles[i] = Integer.parseInt(partes[i].trim());
+        }
+        return niveles;
+    }
+    
+    private static Map<Operacion, Integer> leerMezcla(String texto) {
+        Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.split("=");
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso > 0) {
+                mezcla.put(Operacion.deClave(claveValor[0].trim()), peso);
+            }
+        }
+        if (mezcla.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de carga no tiene operaciones: " + texto);
+        }
+        return mezcla;
+    }
+    
+    private static void escribirReporte(File destino, Map<String, Object> reporte) throws Exception {
+        File carpeta = destino.getAbsoluteFile().getParentFile();
+        if (carpeta != null) {
+            carpeta.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(destino, reporte);
+        System.out.println("Informe de carga escrito en " + destino.getAbsolutePath());
+    }
+    
+    /**
+     * Mediciones de un único hilo (sin sincronización)
+     */
+    static class MedicionHilo {
+        final Map<Operacion, Histogram> latencias = new EnumMap<>(Operacion.class);
+        final Map<Operacion, Long> errores = new EnumMap<>(Operacion.class);
+        final List<String> erroresInesperados = new ArrayList<>();
+        
+        void registrar(Operacion operacion, long nanos) {
+            // Microsegundos, con 3 dígitos significativos y rango autoajustable
+            latencias.computeIfAbsent(operacion, o -> new Histogram(3))
+                .recordValue(Math.max(1, nanos / 1_000));
+        }
+    }
+    
+    /**
+     * Mediciones agregadas de todos los hilos de un nivel de concurrencia
+     */
+    static class ResultadoNivel {
+        final Map<Operacion, Histogram> latencias = new EnumMap<>(Operacion.class);
+        final Map<Operacion, Long> errores = new EnumMap<>(Operacion.class);
+        final List<String> erroresInesperados = new ArrayList<>();
+        long nanosTranscurridos;
+        
+        void acumular(MedicionHilo medicion) {
+            medicion.latencias.forEach((operacion, histograma) ->
+                latencias.computeIfAbsent(operacion, o -> new Histogram(3)).add(histograma));
+            medicion.errores.forEach((operacion, total) -> errores.merge(operacion, total, Long::sum));
+            erroresInesperados.addAll(medicion.erroresInesperados);
+        }
+        
+        Map<String, Object> aMapa(int hilos, long duracion) {
+            double segundos = nanosTranscurridos / 1_000_000_000.0;
+            long total = 0;
+            Map<String, Object> operaciones = new LinkedHashMap<>();
+            
+            for (Map.Entry<Operacion, Histogram> entrada : latencias.entrySet()) {
+                Histogram histograma = entrada.getValue();
+                total += histograma.getTotalCount();
+                
+                Map<String, Object> latencia = new LinkedHashMap<>();
+                latencia.put("media", histograma.getMean());
+                latencia.put("p50", histograma.getValueAtPercentile(50));
+                latencia.put("p90", histograma.getValueAtPercentile(90));
+                latencia.put("p99", histograma.getValueAtPercentile(99));
+                latencia.put("p999", histograma.getValueAtPercentile(99.9));
+                latencia.put("max", histograma.getMaxValue());
+                
+                Map<String, Object> datos = new LinkedHashMap<>();
+                datos.put("ejecuciones", histograma.getTotalCount());
+                datos.put("errores", errores.getOrDefault(entrada.getKey(), 0L));
+                datos.put("opsPorSegundo", histograma.getTotalCount() / segundos);
+                datos.put("latenciaMicros", latencia);
+                operaciones.put(entrada.getKey().clave, datos);
+            }
+            
+            Map<String, Object> nivel = new LinkedHashMap<>();
+            nivel.put("hilos", hilos);
+            nivel.put("segundosMedidos", segundos);
+            nivel.put("totalOperaciones", total);
+            nivel.put("opsPorSegundo", total / segundos);
+            nivel.put("erroresInesperados", erroresInesperados);
+            nivel.put("operaciones", operaciones);
+            return nivel;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.integration;
+
+import com.example.model.Usuario;
+import com.example.repository.FiltroUsuarios;
+import com.example.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Presupuesto de idas y vueltas a la base de datos de UsuarioService
+ * 
+ * PROPÓSITO:
+ * Fijar cuántas sentencias SQL y transacciones emite cada operación, para
+ * que una consulta extra (un N+1, una comprobación duplicada) rompa el build
+ * en lugar de aparecer como latencia en producción.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - Extensión JUnit 5 propia (PresupuestoIdasYVueltasExtension)
+ * - datasource-proxy para contar sentencias y commits reales sobre H2
+ * - Presupuestos declarados en la clase y ajustados por método
+ * 
+ * Los presupuestos de la clase son el estado actual: si una operación
+ * mejora, se bajan; nunca se suben sin revisar el motivo. crearUsuario
+ * admite una sentencia más: la llamada a usuarios_seq que se hace una
+ * vez cada Usuario.IDS_POR_RESERVA altas. El email duplicado no cuesta
+ * una consulta previa: lo rechaza la restricción única al insertar.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(ContadorIdasYVueltas.class)
+@ExtendWith(PresupuestoIdasYVueltasExtension.class)
+@PresupuestoIdasYVueltas(operacion = "crearUsuario", sentencias = 2, transacciones = 1)
+@PresupuestoIdasYVueltas(operacion = "buscarPorId", sentencias = 1, transacciones = 1)
+@PresupuestoIdasYVueltas(operacion = "buscarPorEmail", sentencias = 1, transacciones = 1)
+@PresupuestoIdasYVueltas(operacion = "obtenerUsuariosActivos", sentencias = 1, transacciones = 1)
+@PresupuestoIdasYVueltas(operacion = "obtenerResumenUsuariosActivos", sentencias = 1, transacciones = 1)
+@PresupuestoIdasYVueltas(operacion = "obtenerUsuariosActivosPorPagina", sentencias = 1, transacciones = 1)
+@PresupuestoIdasYVueltas(operacion = "actualizarUsuario", sentencias = 4, transacciones = 3)
+@PresupuestoIdasYVueltas(operacion = "desactivarUsuario", sentencias = 3, transacciones = 2)
+@PresupuestoIdasYVueltas(operacion = "buscarUsuarios", sentencias = 1, transacciones = 1)
+@PresupuestoIdasYVueltas(operacion = "obtenerEstadisticas", sentencias = 0, transacciones = 0)
+@PresupuestoIdasYVueltas(operacion = "eliminarUsuario", sentencias = 3, transacciones = 2)
+@PresupuestoIdasYVueltas(operacion = "exportarUsuarios", sentencias = 1, transacciones = 1)
+@DisplayName("UsuarioService - Presupuesto de Idas y Vueltas")
+class UsuarioServiceIdasYVueltasIT {
+    
+    private static final AtomicLong SECUENCIA_EMAIL = new AtomicLong();
+    
+    @Autowired
+    private UsuarioService usuarioService;
+    
+    @Autowired
+    private ContadorIdasYVueltas contador;
+    
+    private Usuario usuarioExistente;
+    
+    @BeforeEach
+    void setUp() {
+        // No cuenta: el contador se reinicia después de los @BeforeEach
+        usuarioExistente = usuarioService.crearUsuario("Juan Pérez", siguienteEmail(), 25);
+    }
+    
+    private static String siguienteEmail() {
+        return "presupuesto" + SECUENCIA_EMAIL.incrementAndGet() + "@example.com";
+    }
+    
+    private List<ContadorIdasYVueltas.Conteo> invocacionesDe(String operacion) {
+        Map<String, List<ContadorIdasYVueltas.Conteo>> invocaciones = contador.invocaciones();
+        assertThat(invocaciones).containsKey(operacion);
+        return invocaciones.get(operacion);
+    }
+    
+    @Test
+    @DisplayName("crearUsuario debe resolverse con un único INSERT")
+    void crearUsuario_debeResolverseConUnInsert() {
+        // When
+        usuarioService.crearUsuario("Ana García", siguienteEmail(), 30);
+        
+        // Then - más la llamada a la secuencia cuando se agota la reserva de ids
+        assertThat(invocacionesDe("crearUsuario"))
+            .singleElement()
+            .satisfies(conteo -> assertThat(conteo.getSentencias()).isBetween(1, 2));
+    }
+    
+    @Test
+    @DisplayName("crearUsuario con email duplicado debe fallar en el propio INSERT")
+    void crearUsuarioConEmailDuplicado_debeFallarEnElInsert() {
+        // When & Then
+        assertThatThrownBy(() -> usuarioService.crearUsuario("Otro", usuarioExistente.getEmail(), 40))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage(UsuarioService.MENSAJE_EMAIL_DUPLICADO);
+        assertThat(invocacionesDe("crearUsuario")).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("crearUsuario concurrente con el mismo email debe crear un único usuario")
+    void crearUsuarioConcurrenteMismoEmail_debeCrearUnUnicoUsuario() throws Exception {
+        // Given
+        String email = siguienteEmail();
+        int hilos = 4;
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<Usuario>> altas = new ArrayList<>();
+        
+        // When
+        try {
+            for (int i = 0; i < hilos; i++) {
+                altas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    return usuarioService.crearUsuario("Concurrente", email, 30);
+                }));
+            }
+            salida.countDown();
+            
+            // Then
+            int creados = 0;
+            for (Future<Usuario> alta : altas) {
+                try {
+                    alta.get(10, TimeUnit.SECONDS);
+                    creados++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause())
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage(UsuarioService.MENSAJE_EMAIL_DUPLICADO);
+                }
+            }
+            assertThat(creados).isEqualTo(1);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @PresupuestoIdasYVueltas(operacion = "crearUsuariosEnLote", sentencias = 8, transacciones = 2)
+    @DisplayName("crearUsuariosEnLote debe comprobar duplicados con una consulta e insertar por lotes")
+    void crearUsuariosEnLote_debeComprobarDuplicadosEInsertarPorLotes() {
+        // Given
+        List<UsuarioService.AltaUsuario> altas = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            altas.add(new UsuarioService.AltaUsuario("Usuario Lote " + i, siguienteEmail(), 20 + i % 50));
+        }
+        altas.add(new UsuarioService.AltaUsuario("Sin Email", "", 30));
+        altas.add(new UsuarioService.AltaUsuario("Repetido", usuarioExistente.getEmail(), 30));
+        
+        // When
+        UsuarioService.ResultadoLote resultado = usuarioService.crearUsuariosEnLote(altas);
+        
+        // Then - 1 consulta de duplicados, 3 lotes de INSERT y 3-4 llamadas a usuarios_seq
+        assertThat(resultado.getCreados()).isEqualTo(120L);
+        assertThat(resultado.getRechazados()).isEqualTo(2L);
+        assertThat(resultado.getFilas().get(121).getError()).isEqualTo(UsuarioService.MENSAJE_EMAIL_DUPLICADO);
+        assertThat(usuarioService.buscarPorEmail(altas.get(119).getEmail())).isPresent();
+        assertThat(invocacionesDe("crearUsuariosEnLote")).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("buscarPorId y buscarPorEmail deben resolverse con una consulta")
+    void busquedasSimples_debenResolverseConUnaConsulta() {
+        // When
+        usuarioService.buscarPorId(usuarioExistente.getId());
+        usuarioService.buscarPorEmail(usuarioExistente.getEmail());
+        
+        // Then
+        assertThat(invocacionesDe("buscarPorId")).hasSize(1);
+        assertThat(invocacionesDe("buscarPorEmail")).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("actualizarUsuario con nuevo email debe respetar su presupuesto")
+    void actualizarUsuarioConNuevoEmail_debeRespetarPresupuesto() {
+        // When
+        usuarioService.actualizarUsuario(usuarioExistente.getId(), "Juan Carlos", siguienteEmail(), 26);
+        
+        // Then
+        assertThat(invocacionesDe("actualizarUsuario")).hasSize(1);
+    }
+    
+    @Test
+    @PresupuestoIdasYVueltas(operacion = "actualizarUsuario", sentencias = 3, transacciones = 2)
+    @DisplayName("actualizarUsuario sin cambio de email no debe comprobar duplicados")
+    void actualizarUsuarioSinCambioDeEmail_noDebeComprobarDuplicados() {
+        // When
+        usuarioService.actualizarUsuario(usuarioExistente.getId(), "Juan Carlos", null, 26);
+        
+        // Then
+        assertThat(invocacionesDe("actualizarUsuario")).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("desactivarUsuario y eliminarUsuario deben respetar su presupuesto")
+    void desactivarYEliminar_debenRespetarPresupuesto() {
+        // When
+        usuarioService.desactivarUsuario(usuarioExistente.getId());
+        usuarioService.eliminarUsuario(usuarioExistente.getId());
+        
+        // Then
+        assertThat(invocacionesDe("desactivarUsuario")).hasSize(1);
+        assertThat(invocacionesDe("eliminarUsuario")).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("Consultas de listado y estadísticas deben respetar su presupuesto")
+    void listadosYEstadisticas_debenRespetarPresupuesto() {
+        // When
+        usuarioService.obtenerUsuariosActivos();
+        usuarioService.obtenerResumenUsuariosActivos();
+        usuarioService.obtenerUsuariosActivosPorPagina(null, 10);
+        usuarioService.buscarUsuarios("juan", null, null);
+        usuarioService.obtenerEstadisticas();
+        
+        // Then - las estadísticas salen de ContadoresUsuarios, sin sentencias
+        assertThat(contador.invocaciones()).doesNotContainKey("obtenerEstadisticas");
+    }
+    
+    @Test
+    @DisplayName("obtenerEstadisticas debe reflejar altas, bajas y cambios confirmados")
+    void obtenerEstadisticas_debeReflejarCambiosConfirmados() {
+        // Given
+        UsuarioService.EstadisticasUsuarios antes = usuarioService.obtenerEstadisticas();
+        
+        // When
+        Usuario menor = usuarioService.crearUsuario("Ana García", siguienteEmail(), 15);
+        usuarioService.actualizarUsuario(menor.getId(), null, null, 20);
+        usuarioService.desactivarUsuario(usuarioExistente.getId());
+        usuarioService.eliminarUsuario(usuarioExistente.getId());
+        
+        // Then
+        UsuarioService.EstadisticasUsuarios despues = usuarioService.obtenerEstadisticas();
+        assertThat(despues.getTotalUsuarios()).isEqualTo(antes.getTotalUsuarios());
+        assertThat(despues.getUsuariosActivos()).isEqualTo(antes.getUsuariosActivos());
+        assertThat(despues.getUsuariosMayoresEdad()).isEqualTo(antes.getUsuariosMayoresEdad());
+        assertThat(despues.getUsuariosPorTramoEdad().get("18-29"))
+            .isEqualTo(antes.getUsuariosPorTramoEdad().get("18-29"));
+    }
+    
+    @Test
+    @DisplayName("exportarUsuarios debe recorrer la tabla con una sola consulta")
+    void exportarUsuarios_debeRecorrerLaTablaConUnaConsulta() {
+        // Given
+        usuarioService.crearUsuario("Ana García", siguienteEmail(), 30);
+        List<Usuario> exportados = new ArrayList<>();
+        
+        // When
+        long total = usuarioService.exportarUsuarios(exportados::add);
+        
+        // Then
+        assertThat(total).isEqualTo(exportados.size()).isGreaterThanOrEqualTo(2);
+        assertThat(exportados).extracting(Usuario::getId).isSorted();
+        assertThat(invocacionesDe("exportarUsuarios")).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("buscarUsuarios debe combinar todos los criterios en una consulta")
+    void buscarUsuarios_debeCombinarCriteriosEnUnaConsulta() {
+        // Given
+        String dominio = "criterios" + SECUENCIA_EMAIL.incrementAndGet() + ".es";
+        Usuario buscado = usuarioService.crearUsuario("Lucía Criterio", "lucia@" + dominio, 30);
+        usuarioService.crearUsuario("Lucía Criterio", "lucia@otro-" + dominio, 30);
+        usuarioService.crearUsuario("Lucía Criterio", "joven@" + dominio, 16);
+        Usuario inactivo = usuarioService.crearUsuario("Lucía Criterio", "baja@" + dominio, 40);
+        usuarioService.desactivarUsuario(inactivo.getId());
+        
+        // When
+        List<Usuario> resultado = usuarioService.buscarUsuarios(new FiltroUsuarios()
+            .nombre("lucía crit")
+            .edadMinima(18)
+            .edadMaxima(35)
+            .activo(true)
+            .registradoDesde(LocalDateTime.now().minusHours(1))
+            .dominioEmail("@" + dominio.toUpperCase()));
+        
+        // Then
+        assertThat(resultado).extracting(Usuario::getId).containsExactly(buscado.getId());
+        assertThat(usuarioService.buscarUsuarios("lucía", null, false))
+            .extracting(Usuario::getId).contains(inactivo.getId()).doesNotContain(buscado.getId());
+        assertThat(invocacionesDe("buscarUsuarios")).hasSize(2);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.unit;
+
+import com.example.model.Usuario;
+import com.example.repository.UsuarioRepository;
+import com.example.service.ContadoresUsuarios;
+import com.example.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para ContadoresUsuarios
+ * 
+ * PROPÓSITO:
+ * Verificar que altas, cambios y bajas mueven los contadores adecuados
+ * y que la reconciliación los deja iguales a la base de datos.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - Mock del repository para simular los recuentos de la base de datos
+ * - Sin EntityManagerFactory: los eventos de Hibernate se sustituyen por
+ *   llamadas directas a registrarAlta, registrarCambio y registrarBaja
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContadoresUsuarios - Pruebas Unitarias")
+class ContadoresUsuariosTest {
+    
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    
+    private ContadoresUsuarios contadores;
+    
+    @BeforeEach
+    void setUp() {
+        contadores = new ContadoresUsuarios(usuarioRepository, null);
+    }
+    
+    private void reconciliarConTablaVacia() {
+        when(usuarioRepository.countPorEdadYActivo()).thenReturn(Collections.emptyList());
+        contadores.afterPropertiesSet();
+    }
+    
+    /**
+     * GRUPO: Cambios Confirmados
+     */
+    @Nested
+    @DisplayName("Cambios Confirmados")
+    class CambiosConfirmados {
+        
+        @Test
+        @DisplayName("Alta debe sumar en total, activos y su tramo de edad")
+        void alta_debeSumarEnTotalActivosYTramo() {
+            // Given
+            reconciliarConTablaVacia();
+            
+            // When
+            contadores.registrarAlta(new Usuario("Juan Pérez", "juan@example.com", 25));
+            contadores.registrarAlta(new Usuario("Ana García", "ana@example.com", null));
+            
+            // Then
+            UsuarioService.EstadisticasUsuarios estadisticas = contadores.estadisticas();
+            assertThat(estadisticas.getTotalUsuarios()).isEqualTo(2L);
+            assertThat(estadisticas.getUsuariosActivos()).isEqualTo(2L);
+            assertThat(estadisticas.getUsuariosMayoresEdad()).isEqualTo(1L);
+            assertThat(estadisticas.getUsuariosActivosMayoresEdad()).isEqualTo(1L);
+            assertThat(estadisticas.getUsuariosSinEdad()).isEqualTo(1L);
+            assertThat(estadisticas.getUsuariosPorTramoEdad()).containsEntry("18-29", 1L);
+        }
+        
+        @Test
+        @DisplayName("Cambio debe mover el usuario de tramo y de estado")
+        void cambio_debeMoverUsuarioDeTramoYEstado() {
+            // Given
+            reconciliarConTablaVacia();
+            Usuario usuario = new Usuario("Juan Pérez", "juan@example.com", 17);
+            contadores.registrarAlta(usuario);
+            
+            // When
+            usuario.setEdad(18);
+            usuario.setActivo(false);
+            contadores.registrarCambio(true, 17, usuario);
+            
+            // Then
+            UsuarioService.EstadisticasUsuarios estadisticas = contadores.estadisticas();
+            assertThat(estadisticas.getTotalUsuarios()).isEqualTo(1L);
+            assertThat(estadisticas.getUsuariosActivos()).isZero();
+            assertThat(estadisticas.getUsuariosMayoresEdad()).isEqualTo(1L);
+            assertThat(estadisticas.getUsuariosActivosMayoresEdad()).isZero();
+            assertThat(estadisticas.getUsuariosPorTramoEdad())
+                .containsEntry("0-17", 0L)
+                .containsEntry("18-29", 1L);
+        }
+        
+        @Test
+        @DisplayName("Baja debe restar lo que sumó el alta")
+        void baja_debeRestarLoQueSumoElAlta() {
+            // Given
+            reconciliarConTablaVacia();
+            Usuario usuario = new Usuario("Juan Pérez", "juan@example.com", 70);
+            contadores.registrarAlta(usuario);
+            
+            // When
+            contadores.registrarBaja(usuario);
+            
+            // Then
+            UsuarioService.EstadisticasUsuarios estadisticas = contadores.estadisticas();
+            assertThat(estadisticas.getTotalUsuarios()).isZero();
+            assertThat(estadisticas.getUsuariosMayoresEdad()).isZero();
+            assertThat(estadisticas.getUsuariosPorTramoEdad().values()).containsOnly(0L);
+        }
+    }
+    
+    /**
+     * GRUPO: Reconciliación
+     */
+    @Nested
+    @DisplayName("Reconciliación")
+    class Reconciliacion {
+        
+        @Test
+        @DisplayName("Reconciliar debe igualar los contadores con la base de datos")
+        void reconciliar_debeIgualarContadoresConBaseDeDatos() {
+            // Given - un alta que la base de datos no tiene (p. ej. cargada por JDBC)
+            reconciliarConTablaVacia();
+            contadores.registrarAlta(new Usuario("Juan Pérez", "juan@example.com", 25));
+            when(usuarioRepository.countPorEdadYActivo()).thenReturn(Arrays.asList(
+                new Object[] {12, true, 2L}, new Object[] {25, true, 4L}, new Object[] {29, false, 1L},
+                new Object[] {80, true, 2L}, new Object[] {null, false, 1L}));
+            
+            // When
+            contadores.reconciliar();
+            
+            // Then
+            UsuarioService.EstadisticasUsuarios estadisticas = contadores.estadisticas();
+            assertThat(estadisticas.getTotalUsuarios()).isEqualTo(10L);
+            assertThat(estadisticas.getUsuariosActivos()).isEqualTo(8L);
+            assertThat(estadisticas.getUsuariosMayoresEdad()).isEqualTo(7L);
+            assertThat(estadisticas.getUsuariosActivosMayoresEdad()).isEqualTo(6L);
+            assertThat(estadisticas.getUsuariosSinEdad()).isEqualTo(1L);
+            assertThat(estadisticas.getUsuariosPorTramoEdad())
+                .containsEntry("0-17", 2L)
+                .containsEntry("18-29", 5L)
+                .containsEntry("30-44", 0L)
+                .containsEntry("65+", 2L);
+        }
+        
+        @Test
+        @DisplayName("Alta durante la reconciliación no debe perderse")
+        void altaDuranteReconciliacion_noDebePerderse() {
+            // Given - el alta llega mientras se consulta la base de datos, que aún no la ve
+            reconciliarConTablaVacia();
+            when(usuarioRepository.countPorEdadYActivo()).thenAnswer(invocacion -> {
+                contadores.registrarAlta(new Usuario("Juan Pérez", "juan@example.com", 25));
+                return Collections.singletonList(new Object[] {40, true, 3L});
+            });
+            
+            // When
+            contadores.reconciliar();
+            
+            // Then
+            UsuarioService.EstadisticasUsuarios estadisticas = contadores.estadisticas();
+            assertThat(estadisticas.getTotalUsuarios()).isEqualTo(4L);
+            assertThat(estadisticas.getUsuariosActivosMayoresEdad()).isEqualTo(4L);
+            assertThat(estadisticas.getUsuariosPorTramoEdad())
+                .containsEntry("18-29", 1L)
+                .containsEntry("30-44", 3L);
+        }
+        
+        @Test
+        @DisplayName("Alta que la base de datos ya ve no debe contarse dos veces")
+        void altaQueLaBaseDeDatosYaVe_noDebeContarseDosVeces() {
+            // Given - el alta se confirmó y su listener corrió antes de reconciliar
+            reconciliarConTablaVacia();
+            contadores.registrarAlta(new Usuario("Juan Pérez", "juan@example.com", 25));
+            when(usuarioRepository.countPorEdadYActivo()).thenReturn(Arrays.asList(
+                new Object[] {25, true, 1L}, new Object[] {50, false, 2L}));
+            
+            // When
+            contadores.reconciliar();
+            
+            // Then - total y tramos salen de la misma lectura y cuadran entre sí
+            UsuarioService.EstadisticasUsuarios estadisticas = contadores.estadisticas();
+            assertThat(estadisticas.getTotalUsuarios()).isEqualTo(3L);
+            assertThat(estadisticas.getUsuariosActivos()).isEqualTo(1L);
+            assertThat(estadisticas.getUsuariosPorTramoEdad())
+                .containsEntry("18-29", 1L)
+                .containsEntry("45-64", 2L);
+            assertThat(estadisticas.getUsuariosPorTramoEdad().values().stream().mapToLong(Long::longValue).sum()
+                + estadisticas.getUsuariosSinEdad()).isEqualTo(estadisticas.getTotalUsuarios());
+            verify(usuarioRepository, never()).countEstadisticas();
+        }
+        
+        @Test
+        @DisplayName("Leer estadísticas no debe consultar la base de datos")
+        void leerEstadisticas_noDebeConsultarBaseDeDatos() {
+            // Given
+            reconciliarConTablaVacia();
+            clearInvocations(usuarioRepository);
+            
+            // When
+            contadores.estadisticas();
+            contadores.estadisticas();
+            
+            // Then
+            verifyNoInteractions(usuarioRepository);
+        }
+    }
+}
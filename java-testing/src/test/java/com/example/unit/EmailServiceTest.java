@@ -8,6 +8,11 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -299,6 +304,48 @@ class EmailServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Error en servicio de email externo");
         }
+        
+        @Test
+        @DisplayName("Encolar emails debe crear una única tarea que tolera fallos")
+        void encolarEmails_debeCrearUnaTareaQueToleraFallos() {
+            // Given - cola que guarda las tareas en lugar de ejecutarlas
+            List<Runnable> tareas = new ArrayList<>();
+            EmailService emailConCola = new EmailService(tareas::add);
+            Usuario conFallo = new Usuario("Ana García", "ana@fallo.com", 30);
+            
+            // When
+            emailConCola.encolarEmailsBienvenida(Arrays.asList(conFallo, usuario));
+            
+            // Then
+            assertThat(tareas).hasSize(1);
+            assertThatCode(() -> tareas.get(0).run()).doesNotThrowAnyException();
+        }
+        
+        @Test
+        @DisplayName("Emails encolados deben enviarse a través del bean de Spring")
+        void emailsEncolados_debenEnviarseATravesDelBean() {
+            // Given - el bean registrado hace de proxy: anota lo que le llega
+            List<Usuario> enviadosPorBean = new ArrayList<>();
+            EmailService bean = new EmailService() {
+                @Override
+                public void enviarEmailBienvenida(Usuario destinatario) {
+                    enviadosPorBean.add(destinatario);
+                }
+            };
+            StaticListableBeanFactory fabrica = new StaticListableBeanFactory();
+            fabrica.addBean("emailService", bean);
+            List<Runnable> tareas = new ArrayList<>();
+            EmailService emailConCola = new EmailService(tareas::add);
+            emailConCola.setBeanFactory(fabrica);
+            emailConCola.setBeanName("emailService");
+            
+            // When
+            emailConCola.encolarEmailsBienvenida(Arrays.asList(usuario));
+            tareas.get(0).run();
+            
+            // Then
+            assertThat(enviadosPorBean).containsExactly(usuario);
+        }
     }
     
     /**
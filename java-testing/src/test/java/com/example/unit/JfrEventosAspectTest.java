@@ -0,0 +1,207 @@
+package com.example.unit;
+
+import com.example.model.Usuario;
+import com.example.observability.EnvioEmailEvento;
+import com.example.observability.JfrEventosAspect;
+import com.example.observability.OperacionEnCursoAspect;
+import com.example.observability.OperacionUsuarioEvento;
+import com.example.repository.UsuarioRepository;
+import com.example.service.EmailService;
+import com.example.service.UsuarioService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para JfrEventosAspect
+ * 
+ * PROPÓSITO:
+ * Verificar que las operaciones de ciclo de vida y los envíos de email
+ * emiten sus eventos Java Flight Recorder con los campos esperados.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - Grabación JFR programática (jdk.jfr.Recording) dentro de un test
+ * - Lectura de la grabación con RecordingFile
+ * - Aspectos aplicados con AspectJProxyFactory sobre mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JfrEventosAspect - Pruebas Unitarias")
+class JfrEventosAspectTest {
+    
+    @Mock
+    private UsuarioRepository usuarioRepositoryMock;
+    
+    @Mock
+    private EmailService emailServiceMock;
+    
+    @TempDir
+    Path carpetaTemporal;
+    
+    private UsuarioService usuarioService;
+    private Recording grabacion;
+    private Usuario usuarioEjemplo;
+    
+    @BeforeEach
+    void setUp() {
+        OperacionEnCursoAspect operacionAspect = new OperacionEnCursoAspect();
+        JfrEventosAspect jfrAspect = new JfrEventosAspect();
+        
+        AspectJProxyFactory fabricaRepositorio = new AspectJProxyFactory(usuarioRepositoryMock);
+        fabricaRepositorio.addInterface(UsuarioRepository.class);
+        fabricaRepositorio.addAspect(operacionAspect);
+        UsuarioRepository usuarioRepository = fabricaRepositorio.getProxy();
+        
+        AspectJProxyFactory fabricaEmail = new AspectJProxyFactory(emailServiceMock);
+        fabricaEmail.setProxyTargetClass(true);
+        fabricaEmail.addAspect(operacionAspect);
+        fabricaEmail.addAspect(jfrAspect);
+        EmailService emailService = fabricaEmail.getProxy();
+        
+        AspectJProxyFactory fabricaServicio =
+            new AspectJProxyFactory(new UsuarioService(usuarioRepository, emailService));
+        fabricaServicio.setProxyTargetClass(true);
+        fabricaServicio.addAspect(operacionAspect);
+        fabricaServicio.addAspect(jfrAspect);
+        usuarioService = fabricaServicio.getProxy();
+        
+        usuarioEjemplo = new Usuario("Juan Pérez", "juan@example.com", 25);
+        usuarioEjemplo.setId(7L);
+        
+        grabacion = new Recording();
+        grabacion.enable(OperacionUsuarioEvento.class);
+        grabacion.enable(EnvioEmailEvento.class);
+        grabacion.start();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        grabacion.close();
+    }
+    
+    private List<RecordedEvent> eventos(String nombre) throws Exception {
+        grabacion.stop();
+        Path fichero = carpetaTemporal.resolve("eventos.jfr");
+        grabacion.dump(fichero);
+        return RecordingFile.readAllEvents(fichero).stream()
+            .filter(evento -> evento.getEventType().getName().equals(nombre))
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * GRUPO: Eventos de Operación
+     */
+    @Nested
+    @DisplayName("Eventos de Operación")
+    class EventosOperacion {
+        
+        @Test
+        @DisplayName("Crear usuario debe emitir evento con id y llamadas al repository")
+        void crearUsuario_debeEmitirEventoConIdYLlamadas() throws Exception {
+            // Given
+            when(usuarioRepositoryMock.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            
+            // When
+            usuarioService.crearUsuario("Juan Pérez", "juan@example.com", 25);
+            
+            // Then
+            List<RecordedEvent> operaciones = eventos("com.example.OperacionUsuario");
+            assertThat(operaciones).hasSize(1);
+            RecordedEvent evento = operaciones.get(0);
+            assertThat(evento.getString("operacion")).isEqualTo("crearUsuario");
+            assertThat(evento.getLong("usuarioId")).isEqualTo(7L);
+            assertThat(evento.getString("resultado")).isEqualTo("exito");
+            assertThat(evento.getInt("llamadasRepositorio")).isEqualTo(1);
+            assertThat(evento.getDuration()).isGreaterThanOrEqualTo(Duration.ZERO);
+        }
+        
+        @Test
+        @DisplayName("Desactivar usuario inexistente debe emitir evento no_encontrado")
+        void desactivarInexistente_debeEmitirEventoNoEncontrado() throws Exception {
+            // Given
+            when(usuarioRepositoryMock.findById(99L)).thenReturn(Optional.empty());
+            
+            // When
+            assertThatThrownBy(() -> usuarioService.desactivarUsuario(99L))
+                .isInstanceOf(IllegalArgumentException.class);
+            
+            // Then
+            RecordedEvent evento = eventos("com.example.OperacionUsuario").get(0);
+            assertThat(evento.getString("operacion")).isEqualTo("desactivarUsuario");
+            assertThat(evento.getLong("usuarioId")).isEqualTo(99L);
+            assertThat(evento.getString("resultado")).isEqualTo("no_encontrado");
+            assertThat(evento.getInt("llamadasRepositorio")).isEqualTo(1);
+        }
+        
+        @Test
+        @DisplayName("Consultas no deben emitir eventos de operación")
+        void consultas_noDebenEmitirEventos() throws Exception {
+            // When
+            usuarioService.obtenerUsuariosActivos();
+            
+            // Then
+            assertThat(eventos("com.example.OperacionUsuario")).isEmpty();
+        }
+    }
+    
+    /**
+     * GRUPO: Eventos de Email
+     */
+    @Nested
+    @DisplayName("Eventos de Email")
+    class EventosEmail {
+        
+        @Test
+        @DisplayName("Envío fallido debe emitir evento con resultado fallo")
+        void envioFallido_debeEmitirEventoConResultadoFallo() throws Exception {
+            // Given
+            when(usuarioRepositoryMock.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            doThrow(new RuntimeException("Error de email")).when(emailServiceMock)
+                .enviarEmailBienvenida(any(Usuario.class));
+            
+            // When
+            usuarioService.crearUsuario("Juan Pérez", "juan@example.com", 25);
+            
+            // Then
+            List<RecordedEvent> envios = eventos("com.example.EnvioEmail");
+            assertThat(envios).hasSize(1);
+            assertThat(envios.get(0).getString("tipo")).isEqualTo("bienvenida");
+            assertThat(envios.get(0).getLong("usuarioId")).isEqualTo(7L);
+            assertThat(envios.get(0).getString("resultado")).isEqualTo("fallo");
+        }
+        
+        @Test
+        @DisplayName("Desactivar usuario debe emitir evento de despedida")
+        void desactivarUsuario_debeEmitirEventoDespedida() throws Exception {
+            // Given
+            when(usuarioRepositoryMock.findById(7L)).thenReturn(Optional.of(usuarioEjemplo));
+            
+            // When
+            usuarioService.desactivarUsuario(7L);
+            
+            // Then
+            List<RecordedEvent> envios = eventos("com.example.EnvioEmail");
+            assertThat(envios).extracting(e -> e.getString("tipo")).containsExactly("despedida");
+            assertThat(envios.get(0).getString("resultado")).isEqualTo("exito");
+        }
+    }
+}
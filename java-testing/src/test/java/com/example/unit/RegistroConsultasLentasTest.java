@@ -0,0 +1,311 @@
+package com.example.unit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.observability.RegistroConsultasLentas;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RegistroConsultasLentas
+ * 
+ * PROPÓSITO:
+ * Verificar que las sentencias sobre usuarios que superan el umbral se
+ * registran con SQL, parámetros y filas (sin volver a ejecutarlas), que el
+ * plan de H2 se captura aparte cuando se activa, y que el resto de
+ * sentencias no generan ruido en el log.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - H2 en memoria detrás de datasource-proxy, sin contexto de Spring
+ * - ListAppender de Logback para inspeccionar el log generado
+ */
+@DisplayName("RegistroConsultasLentas - Pruebas Unitarias")
+class RegistroConsultasLentasTest {
+    
+    private static final long SIN_UMBRAL = 0L;
+    private static final long UMBRAL_INALCANZABLE = 60_000L;
+    
+    private JdbcDataSource h2;
+    private Connection conexionAbierta;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger logger;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:consultas-lentas-" + System.nanoTime());
+        
+        // Mantener la base de datos viva durante la prueba
+        conexionAbierta = h2.getConnection();
+        try (Statement sentencia = conexionAbierta.createStatement()) {
+            sentencia.execute("CREATE TABLE usuarios (id BIGINT PRIMARY KEY, nombre VARCHAR(100), activo BOOLEAN)");
+            sentencia.execute("INSERT INTO usuarios SELECT X, 'Usuario ' || X, TRUE FROM SYSTEM_RANGE(1, 200)");
+            sentencia.execute("CREATE TABLE auditoria (id BIGINT PRIMARY KEY)");
+        }
+        
+        logger = (Logger) LoggerFactory.getLogger(RegistroConsultasLentas.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+    
+    @AfterEach
+    void tearDown() throws SQLException {
+        logger.detachAppender(appender);
+        conexionAbierta.close();
+    }
+    
+    private DataSource conProxy(long umbralMs) {
+        return conProxy(new RegistroConsultasLentas(umbralMs, false, 0L, () -> h2));
+    }
+    
+    private DataSource conProxy(RegistroConsultasLentas registro) {
+        return conProxy(registro, h2);
+    }
+    
+    private DataSource conProxy(RegistroConsultasLentas registro, DataSource base) {
+        return ProxyDataSourceBuilder.create(base)
+            .listener(registro)
+            .methodListener(registro)
+            .proxyResultSet()
+            .build();
+    }
+    
+    private int consultar(DataSource dataSource, String sql, Object parametro) throws SQLException {
+        int filas = 0;
+        try (Connection conexion = dataSource.getConnection();
+             PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+            sentencia.setObject(1, parametro);
+            try (ResultSet resultado = sentencia.executeQuery()) {
+                while (resultado.next()) {
+                    filas++;
+                }
+            }
+        }
+        return filas;
+    }
+    
+    private List<String> mensajes() {
+        synchronized (appender.list) {
+            return appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * Espera a que el hilo de planes registre el plan pedido
+     */
+    private String esperarPlan() throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < limite) {
+            Optional<String> plan = mensajes().stream()
+                .filter(mensaje -> mensaje.startsWith("Plan de consulta lenta"))
+                .findFirst();
+            if (plan.isPresent()) {
+                return plan.get();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("No se registró ningún plan: " + mensajes());
+    }
+    
+    /**
+     * GRUPO: Consultas Sobre Usuarios
+     */
+    @Nested
+    @DisplayName("Consultas Sobre Usuarios")
+    class ConsultasSobreUsuarios {
+        
+        @Test
+        @DisplayName("Consulta lenta debe registrar SQL, parámetros y filas")
+        void consultaLenta_debeRegistrarSqlParametrosYFilas() throws SQLException {
+            // Given
+            DataSource dataSource = conProxy(SIN_UMBRAL);
+            String sql = "SELECT id FROM usuarios WHERE UPPER(nombre) LIKE UPPER(?)";
+            
+            // When
+            int filas = consultar(dataSource, sql, "%usuario 1%");
+            
+            // Then - las filas salen del propio recorrido, sin plan por defecto
+            assertThat(mensajes()).hasSize(1);
+            assertThat(mensajes().get(0))
+                .contains("sql: " + sql)
+                .contains("parametros: [%usuario 1%]")
+                .contains("filas: " + filas)
+                .contains("operacion: ninguna")
+                .doesNotContain("plan:");
+        }
+        
+        @Test
+        @DisplayName("Consulta lenta no debe volver a ejecutarse en su conexión")
+        void consultaLenta_noDebeVolverAEjecutarse() throws SQLException {
+            // Given
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(SIN_UMBRAL, false, 0L, () -> h2);
+            // Cuenta lo que llega a H2 por debajo del registro
+            AtomicInteger sentencias = new AtomicInteger();
+            DataSource contador = ProxyDataSourceBuilder.create(h2)
+                .afterQuery((execInfo, queryInfoList) -> sentencias.incrementAndGet())
+                .build();
+            DataSource dataSource = conProxy(registro, contador);
+            
+            // When
+            consultar(dataSource, "SELECT id FROM usuarios WHERE UPPER(nombre) LIKE UPPER(?)", "%5%");
+            
+            // Then
+            assertThat(sentencias).hasValue(1);
+            assertThat(mensajes()).hasSize(1);
+        }
+        
+        @Test
+        @DisplayName("Búsqueda sin índice debe mostrar el recorrido completo de la tabla")
+        void busquedaSinIndice_debeMostrarRecorridoCompleto() throws Exception {
+            // Given
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(SIN_UMBRAL, true, 0L, () -> h2);
+            DataSource dataSource = conProxy(registro);
+            
+            // When
+            try {
+                consultar(dataSource, "SELECT id FROM usuarios WHERE UPPER(nombre) LIKE UPPER(?)", "%5%");
+                
+                // Then - el plan llega aparte, desde el hilo de planes
+                assertThat(esperarPlan())
+                    .contains("plan:")
+                    .contains("USUARIOS.tableScan")
+                    .contains("scanCount");
+            } finally {
+                registro.destroy();
+            }
+        }
+        
+        @Test
+        @DisplayName("Búsqueda por clave primaria debe mostrar el uso del índice")
+        void busquedaPorClavePrimaria_debeMostrarUsoDelIndice() throws Exception {
+            // Given
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(SIN_UMBRAL, true, 0L, () -> h2);
+            DataSource dataSource = conProxy(registro);
+            
+            // When
+            try {
+                consultar(dataSource, "SELECT nombre FROM usuarios WHERE id = ?", 10L);
+                
+                // Then
+                assertThat(mensajes().get(0)).contains("filas: 1");
+                assertThat(esperarPlan()).doesNotContain("tableScan");
+            } finally {
+                registro.destroy();
+            }
+        }
+        
+        @Test
+        @DisplayName("Planes seguidos dentro del intervalo deben descartarse")
+        void planesDentroDelIntervalo_debenDescartarse() throws Exception {
+            // Given
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(SIN_UMBRAL, true, 60_000L, () -> h2);
+            DataSource dataSource = conProxy(registro);
+            
+            // When
+            try {
+                consultar(dataSource, "SELECT nombre FROM usuarios WHERE id = ?", 10L);
+                esperarPlan();
+                consultar(dataSource, "SELECT nombre FROM usuarios WHERE id = ?", 11L);
+                
+                // Then - las dos sentencias se registran, pero solo hay un plan
+                assertThat(mensajes()).filteredOn(mensaje -> mensaje.startsWith("Consulta lenta")).hasSize(2);
+                assertThat(mensajes()).filteredOn(mensaje -> mensaje.startsWith("Plan de consulta lenta")).hasSize(1);
+            } finally {
+                registro.destroy();
+            }
+        }
+        
+        @Test
+        @DisplayName("Modificación lenta debe registrar filas afectadas sin ejecutarse de nuevo")
+        void modificacionLenta_debeRegistrarFilasAfectadas() throws SQLException {
+            // Given
+            DataSource dataSource = conProxy(SIN_UMBRAL);
+            
+            // When
+            try (Connection conexion = dataSource.getConnection();
+                 PreparedStatement sentencia =
+                     conexion.prepareStatement("UPDATE usuarios SET activo = FALSE WHERE id <= ?")) {
+                sentencia.setLong(1, 5L);
+                sentencia.executeUpdate();
+            }
+            
+            // Then
+            assertThat(mensajes().get(0)).contains("filas: 5");
+            assertThat(consultar(h2, "SELECT id FROM usuarios WHERE activo = ?", false)).isEqualTo(5);
+        }
+    }
+    
+    /**
+     * GRUPO: Filtrado
+     */
+    @Nested
+    @DisplayName("Filtrado")
+    class Filtrado {
+        
+        @Test
+        @DisplayName("Consulta por debajo del umbral no debe registrarse")
+        void consultaPorDebajoDelUmbral_noDebeRegistrarse() throws SQLException {
+            // Given
+            DataSource dataSource = conProxy(UMBRAL_INALCANZABLE);
+            
+            // When
+            consultar(dataSource, "SELECT id FROM usuarios WHERE UPPER(nombre) LIKE UPPER(?)", "%5%");
+            
+            // Then
+            assertThat(mensajes()).isEmpty();
+        }
+        
+        @Test
+        @DisplayName("Consulta sobre otra tabla no debe registrarse")
+        void consultaSobreOtraTabla_noDebeRegistrarse() throws SQLException {
+            // Given
+            DataSource dataSource = conProxy(SIN_UMBRAL);
+            
+            // When
+            consultar(dataSource, "SELECT id FROM auditoria WHERE id = ?", 1L);
+            
+            // Then
+            assertThat(mensajes()).isEmpty();
+        }
+        
+        @Test
+        @DisplayName("DDL sobre usuarios no debe registrarse")
+        void ddlSobreUsuarios_noDebeRegistrarse() throws SQLException {
+            // Given
+            DataSource dataSource = conProxy(SIN_UMBRAL);
+            
+            // When
+            try (Connection conexion = dataSource.getConnection();
+                 Statement sentencia = conexion.createStatement()) {
+                sentencia.execute("CREATE INDEX idx_usuarios_nombre ON usuarios (nombre)");
+            }
+            
+            // Then
+            assertThat(mensajes()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.unit;
+
+import com.example.model.ConteosUsuarios;
+import com.example.model.Usuario;
+import com.example.observability.OperacionEnCursoAspect;
+import com.example.observability.TrazasAspect;
+import com.example.repository.UsuarioRepository;
+import com.example.service.EmailService;
+import com.example.service.UsuarioService;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para TrazasAspect
+ * 
+ * PROPÓSITO:
+ * Verificar que cada operación de UsuarioService produce un span raíz con
+ * las llamadas al repository y los envíos de email como hijos, y que los
+ * errores quedan registrados en el span que los originó.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - SDK de OpenTelemetry con InMemorySpanExporter
+ * - Aspectos aplicados con AspectJProxyFactory sobre mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrazasAspect - Pruebas Unitarias")
+class TrazasAspectTest {
+    
+    @Mock
+    private UsuarioRepository usuarioRepositoryMock;
+    
+    @Mock
+    private EmailService emailServiceMock;
+    
+    private InMemorySpanExporter exportador;
+    private SdkTracerProvider tracerProvider;
+    private UsuarioService usuarioService;
+    private Usuario usuarioEjemplo;
+    
+    @BeforeEach
+    void setUp() {
+        exportador = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exportador))
+            .build();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+            .setTracerProvider(tracerProvider)
+            .build();
+        
+        OperacionEnCursoAspect operacionAspect = new OperacionEnCursoAspect();
+        TrazasAspect trazasAspect = new TrazasAspect(openTelemetry);
+        
+        AspectJProxyFactory fabricaRepositorio = new AspectJProxyFactory(usuarioRepositoryMock);
+        fabricaRepositorio.addInterface(UsuarioRepository.class);
+        fabricaRepositorio.addAspect(operacionAspect);
+        fabricaRepositorio.addAspect(trazasAspect);
+        UsuarioRepository usuarioRepository = fabricaRepositorio.getProxy();
+        
+        AspectJProxyFactory fabricaEmail = new AspectJProxyFactory(emailServiceMock);
+        fabricaEmail.setProxyTargetClass(true);
+        fabricaEmail.addAspect(operacionAspect);
+        fabricaEmail.addAspect(trazasAspect);
+        EmailService emailService = fabricaEmail.getProxy();
+        
+        AspectJProxyFactory fabricaServicio =
+            new AspectJProxyFactory(new UsuarioService(usuarioRepository, emailService));
+        fabricaServicio.setProxyTargetClass(true);
+        fabricaServicio.addAspect(operacionAspect);
+        fabricaServicio.addAspect(trazasAspect);
+        usuarioService = fabricaServicio.getProxy();
+        
+        usuarioEjemplo = new Usuario("Juan Pérez", "juan@example.com", 25);
+        usuarioEjemplo.setId(7L);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+    
+    private SpanData span(String nombre) {
+        return exportador.getFinishedSpanItems().stream()
+            .filter(span -> span.getName().equals(nombre))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No se exportó el span " + nombre));
+    }
+    
+    /**
+     * GRUPO: Jerarquía de Spans
+     */
+    @Nested
+    @DisplayName("Jerarquía de Spans")
+    class JerarquiaSpans {
+        
+        @Test
+        @DisplayName("Crear usuario debe anidar insert y email bajo la operación")
+        void crearUsuario_debeAnidarLlamadasBajoLaOperacion() {
+            // Given
+            when(usuarioRepositoryMock.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            
+            // When
+            usuarioService.crearUsuario("Juan Pérez", "juan@example.com", 25);
+            
+            // Then
+            SpanData operacion = span("UsuarioService.crearUsuario");
+            assertThat(operacion.getParentSpanContext().isValid()).isFalse();
+            assertThat(operacion.getAttributes().get(AttributeKey.stringKey("usuarios.resultado")))
+                .isEqualTo("exito");
+            
+            List<SpanData> hijos = List.of(
+                span("UsuarioRepository.saveAndFlush"),
+                span("EmailService.enviarEmailBienvenida"));
+            assertThat(hijos).allSatisfy(hijo -> {
+                assertThat(hijo.getTraceId()).isEqualTo(operacion.getTraceId());
+                assertThat(hijo.getParentSpanId()).isEqualTo(operacion.getSpanId());
+            });
+        }
+        
+        @Test
+        @DisplayName("Spans del repository deben ser CLIENT y llevar la operación")
+        void spansRepositorio_debenSerClienteYLlevarOperacion() {
+            // Given
+            when(usuarioRepositoryMock.countEstadisticas()).thenReturn(new ConteosUsuarios(3L, 2L, 2L, 1L, 0L));
+            
+            // When
+            usuarioService.obtenerEstadisticas();
+            
+            // Then
+            SpanData count = span("UsuarioRepository.countEstadisticas");
+            assertThat(count.getKind()).isEqualTo(SpanKind.CLIENT);
+            assertThat(count.getAttributes().get(AttributeKey.stringKey("db.operation")))
+                .isEqualTo("countEstadisticas");
+            assertThat(count.getAttributes().get(AttributeKey.stringKey("usuarios.operacion")))
+                .isEqualTo("obtenerEstadisticas");
+        }
+    }
+    
+    /**
+     * GRUPO: Errores
+     */
+    @Nested
+    @DisplayName("Errores")
+    class Errores {
+        
+        @Test
+        @DisplayName("Fallo de email debe marcar solo el span del email como error")
+        void falloEmail_debeMarcarSoloElSpanDelEmail() {
+            // Given
+            when(usuarioRepositoryMock.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            doThrow(new RuntimeException("Error de email")).when(emailServiceMock)
+                .enviarEmailBienvenida(any(Usuario.class));
+            
+            // When
+            usuarioService.crearUsuario("Juan Pérez", "juan@example.com", 25);
+            
+            // Then
+            SpanData email = span("EmailService.enviarEmailBienvenida");
+            assertThat(email.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+            assertThat(email.getEvents()).extracting(evento -> evento.getName()).contains("exception");
+            
+            SpanData operacion = span("UsuarioService.crearUsuario");
+            assertThat(operacion.getStatus().getStatusCode()).isNotEqualTo(StatusCode.ERROR);
+            assertThat(operacion.getAttributes().get(AttributeKey.stringKey("usuarios.resultado")))
+                .isEqualTo("fallo_email");
+        }
+        
+        @Test
+        @DisplayName("Usuario no encontrado debe marcar la operación como error")
+        void usuarioNoEncontrado_debeMarcarOperacionComoError() {
+            // Given
+            when(usuarioRepositoryMock.findById(99L)).thenReturn(Optional.empty());
+            
+            // When
+            assertThatThrownBy(() -> usuarioService.desactivarUsuario(99L))
+                .isInstanceOf(IllegalArgumentException.class);
+            
+            // Then
+            SpanData operacion = span("UsuarioService.desactivarUsuario");
+            assertThat(operacion.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+            assertThat(operacion.getStatus().getDescription()).isEqualTo("no_encontrado");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.unit;
+
+import com.example.model.Usuario;
+import com.example.observability.OperacionEnCursoAspect;
+import com.example.observability.UsuarioRepositoryMetricsAspect;
+import com.example.repository.UsuarioRepository;
+import com.example.service.EmailService;
+import com.example.service.UsuarioService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para UsuarioRepositoryMetricsAspect
+ * 
+ * PROPÓSITO:
+ * Verificar que cada consulta del repository registra su duración y el
+ * número de filas devueltas, etiquetadas con el método y con la operación
+ * de servicio que la originó.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - AspectJProxyFactory sobre un mock de interfaz
+ * - Encadenar proxies de servicio y repository como lo haría Spring
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UsuarioRepositoryMetricsAspect - Pruebas Unitarias")
+class UsuarioRepositoryMetricsAspectTest {
+    
+    @Mock
+    private UsuarioRepository usuarioRepositoryMock;
+    
+    @Mock
+    private EmailService emailService;
+    
+    private MeterRegistry meterRegistry;
+    private UsuarioRepository usuarioRepository;
+    private UsuarioService usuarioService;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        
+        AspectJProxyFactory fabricaRepositorio = new AspectJProxyFactory(usuarioRepositoryMock);
+        fabricaRepositorio.addInterface(UsuarioRepository.class);
+        fabricaRepositorio.addAspect(new UsuarioRepositoryMetricsAspect(meterRegistry));
+        usuarioRepository = fabricaRepositorio.getProxy();
+        
+        AspectJProxyFactory fabricaServicio =
+            new AspectJProxyFactory(new UsuarioService(usuarioRepository, emailService));
+        fabricaServicio.setProxyTargetClass(true);
+        fabricaServicio.addAspect(new OperacionEnCursoAspect());
+        usuarioService = fabricaServicio.getProxy();
+    }
+    
+    private DistributionSummary filas(String metodo, String operacion) {
+        return meterRegistry.get("usuarios.repositorio.filas")
+            .tag("metodo", metodo)
+            .tag("operacion", operacion)
+            .summary();
+    }
+    
+    /**
+     * GRUPO: Tamaño de Resultados
+     */
+    @Nested
+    @DisplayName("Tamaño de Resultados")
+    class TamanoResultados {
+        
+        @Test
+        @DisplayName("Lista devuelta debe registrar su tamaño")
+        void listaDevuelta_debeRegistrarSuTamano() {
+            // Given
+            when(usuarioRepositoryMock.findByActivoTrue()).thenReturn(Arrays.asList(
+                new Usuario("Ana", "ana@test.com", 30),
+                new Usuario("Luis", "luis@test.com", 40),
+                new Usuario("Eva", "eva@test.com", 50)));
+            
+            // When
+            usuarioService.obtenerUsuariosActivos();
+            
+            // Then
+            DistributionSummary resumen = filas("findByActivoTrue", "obtenerUsuariosActivos");
+            assertThat(resumen.count()).isEqualTo(1L);
+            assertThat(resumen.totalAmount()).isEqualTo(3.0);
+        }
+        
+        @Test
+        @DisplayName("Optional debe registrar cero o una fila")
+        void optional_debeRegistrarCeroOUnaFila() {
+            // Given
+            when(usuarioRepositoryMock.findByEmail("ana@test.com"))
+                .thenReturn(Optional.of(new Usuario("Ana", "ana@test.com", 30)));
+            when(usuarioRepositoryMock.findByEmail("nadie@test.com")).thenReturn(Optional.empty());
+            
+            // When
+            usuarioService.buscarPorEmail("ana@test.com");
+            usuarioService.buscarPorEmail("nadie@test.com");
+            
+            // Then
+            DistributionSummary resumen = filas("findByEmail", "buscarPorEmail");
+            assertThat(resumen.count()).isEqualTo(2L);
+            assertThat(resumen.max()).isEqualTo(1.0);
+        }
+        
+        @Test
+        @DisplayName("Métodos heredados como findAll deben instrumentarse")
+        void metodosHeredados_debenInstrumentarse() {
+            // Given
+            when(usuarioRepositoryMock.findAll(any(Specification.class)))
+                .thenReturn(Arrays.asList(new Usuario("Ana", "ana@test.com", 30)));
+            
+            // When
+            usuarioService.buscarUsuarios(null, null, null);
+            
+            // Then
+            assertThat(filas("findAll", "buscarUsuarios").totalAmount()).isEqualTo(1.0);
+        }
+        
+        @Test
+        @DisplayName("Consultas escalares solo deben registrar duración")
+        void consultasEscalares_soloDebenRegistrarDuracion() {
+            // Given
+            when(usuarioRepositoryMock.count()).thenReturn(10L);
+            
+            // When
+            usuarioRepository.count();
+            
+            // Then
+            assertThat(meterRegistry.get("usuarios.repositorio.duracion").tag("metodo", "count").timer().count())
+                .isEqualTo(1L);
+            assertThat(meterRegistry.find("usuarios.repositorio.filas").tag("metodo", "count").summary())
+                .isNull();
+        }
+    }
+    
+    /**
+     * GRUPO: Punto de Uso
+     */
+    @Nested
+    @DisplayName("Punto de Uso")
+    class PuntoDeUso {
+        
+        @Test
+        @DisplayName("Llamada fuera del servicio debe etiquetarse como ninguna")
+        void llamadaFueraDelServicio_debeEtiquetarseComoNinguna() {
+            // Given
+            when(usuarioRepositoryMock.findByNombreContainingIgnoreCase("an")).thenReturn(Arrays.asList());
+            
+            // When
+            usuarioRepository.findByNombreContainingIgnoreCase("an");
+            
+            // Then
+            assertThat(meterRegistry.get("usuarios.repositorio.duracion")
+                .tag("metodo", "findByNombreContainingIgnoreCase")
+                .tag("operacion", "ninguna")
+                .timer().count()).isEqualTo(1L);
+        }
+        
+        @Test
+        @DisplayName("Escrituras no deben instrumentarse como consultas")
+        void escrituras_noDebenInstrumentarseComoConsultas() {
+            // When
+            usuarioRepository.deleteById(1L);
+            
+            // Then
+            assertThat(meterRegistry.find("usuarios.repositorio.duracion").tag("metodo", "deleteById").timer())
+                .isNull();
+        }
+    }
+}
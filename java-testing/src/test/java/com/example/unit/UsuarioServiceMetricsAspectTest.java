@@ -0,0 +1,334 @@
+package com.example.unit;
+
+import com.example.model.ConteosUsuarios;
+import com.example.model.Usuario;
+import com.example.observability.ActividadSesionListener;
+import com.example.observability.EntidadCargadaListener;
+import com.example.observability.OperacionEnCursoAspect;
+import com.example.observability.UsuarioServiceMetricsAspect;
+import com.example.repository.UsuarioRepository;
+import com.example.service.EmailService;
+import com.example.service.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para UsuarioServiceMetricsAspect
+ * 
+ * PROPÓSITO:
+ * Verificar que cada operación de UsuarioService queda registrada con
+ * un timer y un contador etiquetados con la operación y su resultado.
+ * 
+ * TÉCNICAS DEMOSTRADAS:
+ * - AspectJProxyFactory para aplicar aspectos sin levantar Spring
+ * - SimpleMeterRegistry como registro de métricas en memoria
+ * - Mocks de repository y email para provocar cada resultado
+ * - Listeners de Hibernate invocados desde el mock para simular su actividad
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UsuarioServiceMetricsAspect - Pruebas Unitarias")
+class UsuarioServiceMetricsAspectTest {
+    
+    @Mock
+    private UsuarioRepository usuarioRepository;
+    
+    @Mock
+    private EmailService emailService;
+    
+    private MeterRegistry meterRegistry;
+    private UsuarioService usuarioService;
+    private Usuario usuarioEjemplo;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        OperacionEnCursoAspect operacionAspect = new OperacionEnCursoAspect();
+        UsuarioServiceMetricsAspect metricsAspect = new UsuarioServiceMetricsAspect(meterRegistry);
+        
+        // Email también pasa por el proxy para detectar sus fallos
+        AspectJProxyFactory fabricaEmail = new AspectJProxyFactory(emailService);
+        fabricaEmail.setProxyTargetClass(true);
+        fabricaEmail.addAspect(operacionAspect);
+        EmailService emailConAspectos = fabricaEmail.getProxy();
+        
+        AspectJProxyFactory fabricaServicio =
+            new AspectJProxyFactory(new UsuarioService(usuarioRepository, emailConAspectos));
+        fabricaServicio.setProxyTargetClass(true);
+        fabricaServicio.addAspect(operacionAspect);
+        fabricaServicio.addAspect(metricsAspect);
+        usuarioService = fabricaServicio.getProxy();
+        
+        usuarioEjemplo = new Usuario("Juan Pérez", "juan@example.com", 25);
+        usuarioEjemplo.setId(1L);
+    }
+    
+    private double contador(String operacion, String resultado) {
+        return meterRegistry.get("usuarios.servicio.resultados")
+            .tag("operacion", operacion)
+            .tag("resultado", resultado)
+            .counter()
+            .count();
+    }
+    
+    private Timer timer(String operacion, String resultado) {
+        return meterRegistry.get("usuarios.servicio.duracion")
+            .tag("operacion", operacion)
+            .tag("resultado", resultado)
+            .timer();
+    }
+    
+    /**
+     * GRUPO: Clasificación de Resultados
+     */
+    @Nested
+    @DisplayName("Clasificación de Resultados")
+    class ClasificacionResultados {
+        
+        @Test
+        @DisplayName("Creación correcta debe registrarse como exito")
+        void creacionCorrecta_debeRegistrarseComoExito() {
+            // Given
+            when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            
+            // When
+            usuarioService.crearUsuario("Juan Pérez", "juan@example.com", 25);
+            
+            // Then
+            assertThat(contador("crearUsuario", "exito")).isEqualTo(1.0);
+            assertThat(timer("crearUsuario", "exito").count()).isEqualTo(1L);
+        }
+        
+        @Test
+        @DisplayName("Datos inválidos deben registrarse como error_validacion")
+        void datosInvalidos_debenRegistrarseComoErrorValidacion() {
+            // When
+            assertThatThrownBy(() -> usuarioService.crearUsuario(null, "juan@example.com", 25))
+                .isInstanceOf(IllegalArgumentException.class);
+            
+            // Then
+            assertThat(contador("crearUsuario", "error_validacion")).isEqualTo(1.0);
+        }
+        
+        @Test
+        @DisplayName("Email existente debe registrarse como email_duplicado")
+        void emailExistente_debeRegistrarseComoEmailDuplicado() {
+            // Given
+            when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenThrow(
+                new DataIntegrityViolationException("Violación de restricción única " + Usuario.RESTRICCION_EMAIL_UNICO));
+            
+            // When
+            assertThatThrownBy(() -> usuarioService.crearUsuario("Juan", "juan@example.com", 25))
+                .isInstanceOf(IllegalArgumentException.class);
+            
+            // Then
+            assertThat(contador("crearUsuario", "email_duplicado")).isEqualTo(1.0);
+        }
+        
+        @Test
+        @DisplayName("Usuario inexistente debe registrarse como no_encontrado")
+        void usuarioInexistente_debeRegistrarseComoNoEncontrado() {
+            // Given
+            when(usuarioRepository.findById(999L)).thenReturn(Optional.empty());
+            
+            // When
+            assertThatThrownBy(() -> usuarioService.desactivarUsuario(999L))
+                .isInstanceOf(IllegalArgumentException.class);
+            
+            // Then
+            assertThat(contador("desactivarUsuario", "no_encontrado")).isEqualTo(1.0);
+        }
+        
+        @Test
+        @DisplayName("Búsqueda sin resultado debe registrarse como no_encontrado")
+        void busquedaSinResultado_debeRegistrarseComoNoEncontrado() {
+            // Given
+            when(usuarioRepository.findById(999L)).thenReturn(Optional.empty());
+            when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioEjemplo));
+            when(usuarioRepository.findByEmail("nadie@example.com")).thenReturn(Optional.empty());
+            
+            // When - las búsquedas vacías no lanzan: devuelven Optional.empty()
+            usuarioService.buscarPorId(999L);
+            usuarioService.buscarPorId(1L);
+            usuarioService.buscarPorEmail("nadie@example.com");
+            
+            // Then
+            assertThat(contador("buscarPorId", "no_encontrado")).isEqualTo(1.0);
+            assertThat(contador("buscarPorId", "exito")).isEqualTo(1.0);
+            assertThat(contador("buscarPorEmail", "no_encontrado")).isEqualTo(1.0);
+            assertThat(timer("buscarPorId", "no_encontrado").count()).isEqualTo(1L);
+        }
+        
+        @Test
+        @DisplayName("Fallo de email capturado debe registrarse como fallo_email")
+        void falloEmailCapturado_debeRegistrarseComoFalloEmail() {
+            // Given
+            when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            doThrow(new RuntimeException("Error de email")).when(emailService)
+                .enviarEmailBienvenida(any(Usuario.class));
+            
+            // When - La creación termina bien aunque el email falle
+            Usuario resultado = usuarioService.crearUsuario("Juan Pérez", "juan@example.com", 25);
+            
+            // Then
+            assertThat(resultado).isNotNull();
+            assertThat(contador("crearUsuario", "fallo_email")).isEqualTo(1.0);
+            assertThat(meterRegistry.find("usuarios.servicio.resultados")
+                .tag("operacion", "crearUsuario").tag("resultado", "exito").counter()).isNull();
+        }
+    }
+    
+    /**
+     * GRUPO: Cobertura de Operaciones
+     */
+    @Nested
+    @DisplayName("Cobertura de Operaciones")
+    class CoberturaOperaciones {
+        
+        @Test
+        @DisplayName("Cada operación debe tener su propio timer")
+        void cadaOperacion_debeTenerSuPropioTimer() {
+            // Given
+            when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioEjemplo));
+            when(usuarioRepository.findByEmail("juan@example.com")).thenReturn(Optional.of(usuarioEjemplo));
+            when(usuarioRepository.existsById(1L)).thenReturn(true);
+            
+            // When
+            usuarioService.buscarPorId(1L);
+            usuarioService.buscarPorEmail("juan@example.com");
+            usuarioService.obtenerUsuariosActivos();
+            usuarioService.buscarUsuarios(null, null, null);
+            usuarioService.eliminarUsuario(1L);
+            
+            // Then
+            assertThat(timer("buscarPorId", "exito").count()).isEqualTo(1L);
+            assertThat(timer("buscarPorEmail", "exito").count()).isEqualTo(1L);
+            assertThat(timer("obtenerUsuariosActivos", "exito").count()).isEqualTo(1L);
+            assertThat(timer("buscarUsuarios", "exito").count()).isEqualTo(1L);
+            assertThat(timer("eliminarUsuario", "exito").count()).isEqualTo(1L);
+        }
+        
+        @Test
+        @DisplayName("El timer debe publicar percentiles p50, p95 y p99")
+        void timer_debePublicarPercentiles() {
+            // Given
+            when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioEjemplo));
+            
+            // When
+            usuarioService.buscarPorId(1L);
+            
+            // Then
+            assertThat(timer("buscarPorId", "exito").takeSnapshot().percentileValues())
+                .extracting(valor -> valor.percentile())
+                .containsExactly(0.5, 0.95, 0.99);
+        }
+    }
+    
+    /**
+     * GRUPO: Actividad de Hibernate
+     */
+    @Nested
+    @DisplayName("Actividad de Hibernate")
+    class ActividadHibernate {
+        
+        private final ActividadSesionListener sesion = new ActividadSesionListener();
+        private final EntidadCargadaListener cargas = new EntidadCargadaListener();
+        
+        @Test
+        @DisplayName("Entidades y sentencias deben atribuirse a la operación")
+        void entidadesYSentencias_debenAtribuirseALaOperacion() {
+            // Given - Hibernate ejecuta una sentencia y materializa dos entidades
+            when(usuarioRepository.findByActivoTrue()).thenAnswer(invocacion -> {
+                sesion.jdbcExecuteStatementStart();
+                sesion.jdbcExecuteStatementEnd();
+                cargas.onPostLoad(null);
+                cargas.onPostLoad(null);
+                return Arrays.asList(usuarioEjemplo, usuarioEjemplo);
+            });
+            
+            // When
+            usuarioService.obtenerUsuariosActivos();
+            
+            // Then
+            assertThat(meterRegistry.get("usuarios.servicio.entidades")
+                .tag("operacion", "obtenerUsuariosActivos").summary().totalAmount()).isEqualTo(2.0);
+            assertThat(meterRegistry.get("usuarios.servicio.sentencias")
+                .tag("operacion", "obtenerUsuariosActivos").summary().totalAmount()).isEqualTo(1.0);
+        }
+        
+        @Test
+        @DisplayName("Espera de conexión debe registrarse por operación")
+        void esperaConexion_debeRegistrarsePorOperacion() {
+            // Given
+            when(usuarioRepository.countEstadisticas()).thenAnswer(invocacion -> {
+                sesion.jdbcConnectionAcquisitionStart();
+                Thread.sleep(5);
+                sesion.jdbcConnectionAcquisitionEnd();
+                return new ConteosUsuarios(0L, 0L, 0L, 0L, 0L);
+            });
+            
+            // When
+            usuarioService.obtenerEstadisticas();
+            
+            // Then
+            Timer espera = meterRegistry.get("usuarios.servicio.conexion.espera")
+                .tag("operacion", "obtenerEstadisticas").timer();
+            assertThat(espera.count()).isEqualTo(1L);
+            assertThat(espera.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5.0);
+        }
+        
+        @Test
+        @DisplayName("Flushes y lecturas de caché deben registrarse")
+        void flushesYLecturasCache_debenRegistrarse() {
+            // Given
+            when(usuarioRepository.save(any(Usuario.class))).thenAnswer(invocacion -> {
+                sesion.cacheGetEnd(true);
+                sesion.cacheGetEnd(false);
+                sesion.cacheGetEnd(false);
+                sesion.flushEnd(1, 0);
+                return usuarioEjemplo;
+            });
+            when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioEjemplo));
+            
+            // When
+            usuarioService.actualizarUsuario(1L, "Juan", null, null);
+            
+            // Then
+            assertThat(meterRegistry.get("usuarios.servicio.flushes")
+                .tag("operacion", "actualizarUsuario").summary().totalAmount()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("usuarios.servicio.cache")
+                .tag("operacion", "actualizarUsuario").tag("resultado", "acierto").counter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("usuarios.servicio.cache")
+                .tag("operacion", "actualizarUsuario").tag("resultado", "fallo").counter().count()).isEqualTo(2.0);
+        }
+        
+        @Test
+        @DisplayName("Actividad fuera de una operación no debe atribuirse a nada")
+        void actividadFueraDeOperacion_noDebeAtribuirse() {
+            // When
+            sesion.jdbcExecuteStatementEnd();
+            cargas.onPostLoad(null);
+            
+            // Then
+            assertThat(meterRegistry.find("usuarios.servicio.sentencias").summary()).isNull();
+            assertThat(meterRegistry.find("usuarios.servicio.entidades").summary()).isNull();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.unit;
 
+import com.example.model.ConteosUsuarios;
 import com.example.model.Usuario;
+import com.example.model.UsuarioResumen;
+import com.example.repository.FiltroUsuarios;
 import com.example.repository.UsuarioRepository;
 import com.example.service.EmailService;
 import com.example.service.UsuarioService;
@@ -12,10 +15,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -132,11 +147,8 @@ class UsuarioServiceTest {
             // CONFIGURACIÓN DE MOCKS:
             // Definir qué deben retornar los mocks cuando se llamen
             
-            // Mock: email no existe previamente
-            when(usuarioRepository.existsByEmail(email)).thenReturn(false);
-            
             // Mock: guardar usuario retorna el usuario con ID asignado
-            when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
             
             // When - Ejecutar el método bajo testing
             Usuario resultado = usuarioService.crearUsuario(nombre, email, edad);
@@ -148,11 +160,10 @@ class UsuarioServiceTest {
             // VERIFICACIONES DE INTERACCIONES:
             // Confirmar que el servicio llama a las dependencias correctamente
             
-            // Verificar que se consultó existencia de email
-            verify(usuarioRepository).existsByEmail(email);
-            
             // Verificar que se guardó un usuario (cualquier instancia de Usuario)
-            verify(usuarioRepository).save(any(Usuario.class));
+            // sin consultar antes el email: el duplicado lo detecta la restricción única
+            verify(usuarioRepository).saveAndFlush(any(Usuario.class));
+            verify(usuarioRepository, never()).existsByEmail(anyString());
             
             // Verificar que se envió email de bienvenida
             verify(emailService).enviarEmailBienvenida(any(Usuario.class));
@@ -176,8 +187,7 @@ class UsuarioServiceTest {
             // Confirmar que NO se ejecutaron operaciones cuando hay error de validación
             
             // never() verifica que un método NO fue llamado
-            verify(usuarioRepository, never()).existsByEmail(anyString());
-            verify(usuarioRepository, never()).save(any(Usuario.class));
+            verify(usuarioRepository, never()).saveAndFlush(any(Usuario.class));
             verify(emailService, never()).enviarEmailBienvenida(any(Usuario.class));
         }
         
@@ -231,15 +241,31 @@ class UsuarioServiceTest {
             String email = "existente@test.com";
             Integer edad = 25;
             
-            when(usuarioRepository.existsByEmail(email)).thenReturn(true);
+            // La base de datos rechaza el INSERT por la restricción única del email
+            when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenThrow(new DataIntegrityViolationException(
+                "Violación de restricción única " + Usuario.RESTRICCION_EMAIL_UNICO.toUpperCase()));
             
             // When & Then
             assertThatThrownBy(() -> usuarioService.crearUsuario(nombre, email, edad))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Ya existe un usuario con este email");
             
-            // Verificar que no se intentó guardar
-            verify(usuarioRepository, never()).save(any(Usuario.class));
+            // Verificar que no se envió email de bienvenida
+            verify(emailService, never()).enviarEmailBienvenida(any(Usuario.class));
+        }
+        
+        @Test
+        @DisplayName("Otra violación de integridad no debe presentarse como email duplicado")
+        void otraViolacionDeIntegridad_debePropagarse() {
+            // Given
+            DataIntegrityViolationException violacion =
+                new DataIntegrityViolationException("NULL not allowed for column \"NOMBRE\"");
+            when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenThrow(violacion);
+            
+            // When & Then
+            assertThatThrownBy(() -> usuarioService.crearUsuario("Juan", "juan@test.com", 25))
+                .isSameAs(violacion);
+            
             verify(emailService, never()).enviarEmailBienvenida(any(Usuario.class));
         }
         
@@ -255,8 +281,7 @@ class UsuarioServiceTest {
             Integer edad = 25;
             
             // Configurar mocks para operación exitosa
-            when(usuarioRepository.existsByEmail(email)).thenReturn(false);
-            when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuarioEjemplo);
+            when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(usuarioEjemplo);
             
             // SIMULAR ERROR EN SERVICIO EXTERNO:
             // doThrow() configura el mock para lanzar excepción cuando se llame
@@ -270,13 +295,121 @@ class UsuarioServiceTest {
             assertThat(resultado).isNotNull();
             
             // Verificar que se intentó guardar el usuario
-            verify(usuarioRepository).save(any(Usuario.class));
+            verify(usuarioRepository).saveAndFlush(any(Usuario.class));
             
             // Verificar que se intentó enviar email (aunque falló)
             verify(emailService).enviarEmailBienvenida(any(Usuario.class));
         }
     }
     
+    /**
+     * GRUPO: Creación en Lote
+     */
+    @Nested
+    @DisplayName("Creación en Lote")
+    class CreacionEnLote {
+        
+        private List<Usuario> asignarIds(List<Usuario> usuarios) {
+            long id = 100L;
+            for (Usuario usuario : usuarios) {
+                usuario.setId(id++);
+            }
+            return usuarios;
+        }
+        
+        @Test
+        @DisplayName("Lote debe validar cada fila y comprobar duplicados con una consulta")
+        void lote_debeValidarCadaFilaYComprobarDuplicadosConUnaConsulta() {
+            // Given
+            List<UsuarioService.AltaUsuario> altas = Arrays.asList(
+                new UsuarioService.AltaUsuario("Ana García", "ana@example.com", 30),
+                new UsuarioService.AltaUsuario("", "vacio@example.com", 30),
+                new UsuarioService.AltaUsuario("Juan Pérez", "juan@example.com", 25),
+                new UsuarioService.AltaUsuario("Ana Repetida", "ana@example.com", 31),
+                new UsuarioService.AltaUsuario("Luis López", "luis@example.com", 40));
+            when(usuarioRepository.findEmailsExistentes(anyCollection()))
+                .thenReturn(Arrays.asList("juan@example.com"));
+            when(usuarioRepository.saveAllAndFlush(anyList())).thenAnswer(invocacion -> asignarIds(invocacion.getArgument(0)));
+            
+            // When
+            UsuarioService.ResultadoLote resultado = usuarioService.crearUsuariosEnLote(altas);
+            
+            // Then
+            assertThat(resultado.getFilas()).extracting(UsuarioService.ResultadoFila::getError).containsExactly(
+                null,
+                "El nombre no puede estar vacío",
+                UsuarioService.MENSAJE_EMAIL_DUPLICADO,
+                UsuarioService.MENSAJE_EMAIL_DUPLICADO,
+                null);
+            assertThat(resultado.getCreados()).isEqualTo(2L);
+            assertThat(resultado.getFilas().get(4).getUsuario().getId()).isNotNull();
+            
+            verify(usuarioRepository).findEmailsExistentes(
+                Arrays.asList("ana@example.com", "juan@example.com", "luis@example.com"));
+            verify(usuarioRepository, never()).existsByEmail(anyString());
+            verify(usuarioRepository, never()).saveAndFlush(any(Usuario.class));
+            verify(emailService).encolarEmailsBienvenida(argThat(usuarios -> usuarios.size() == 2));
+            verify(emailService, never()).enviarEmailBienvenida(any(Usuario.class));
+        }
+        
+        @Test
+        @DisplayName("Duplicado concurrente debe aislarse reintentando fila a fila")
+        void duplicadoConcurrente_debeAislarseFilaAFila() {
+            // Given
+            List<UsuarioService.AltaUsuario> altas = Arrays.asList(
+                new UsuarioService.AltaUsuario("Ana García", "ana@example.com", 30),
+                new UsuarioService.AltaUsuario("Luis López", "luis@example.com", 40));
+            when(usuarioRepository.findEmailsExistentes(anyCollection())).thenReturn(Collections.emptyList());
+            when(usuarioRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Violación de restricción única " + Usuario.RESTRICCION_EMAIL_UNICO));
+            when(usuarioRepository.saveAndFlush(any(Usuario.class)))
+                .thenAnswer(invocacion -> {
+                    Usuario usuario = invocacion.getArgument(0);
+                    usuario.setId(7L);
+                    return usuario;
+                })
+                .thenThrow(new DataIntegrityViolationException("Violación de restricción única " + Usuario.RESTRICCION_EMAIL_UNICO));
+            
+            // When
+            UsuarioService.ResultadoLote resultado = usuarioService.crearUsuariosEnLote(altas);
+            
+            // Then
+            assertThat(resultado.getFilas().get(0).isCreado()).isTrue();
+            assertThat(resultado.getFilas().get(1).getError()).isEqualTo(UsuarioService.MENSAJE_EMAIL_DUPLICADO);
+            verify(emailService).encolarEmailsBienvenida(argThat(usuarios -> usuarios.size() == 1));
+        }
+        
+        @Test
+        @DisplayName("Lote nulo debe lanzar excepción")
+        void loteNulo_debeLanzarExcepcion() {
+            // When & Then
+            assertThatThrownBy(() -> usuarioService.crearUsuariosEnLote(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("La lista de usuarios no puede ser nula");
+            
+            verifyNoInteractions(usuarioRepository, emailService);
+        }
+        
+        @Test
+        @DisplayName("Lote dentro de una transacción debe lanzar excepción")
+        void loteDentroDeTransaccion_debeLanzarExcepcion() {
+            // Given
+            List<UsuarioService.AltaUsuario> altas = Collections.singletonList(
+                new UsuarioService.AltaUsuario("Ana García", "ana@example.com", 30));
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            
+            try {
+                // When & Then
+                assertThatThrownBy(() -> usuarioService.crearUsuariosEnLote(altas))
+                    .isInstanceOf(IllegalStateException.class);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+            
+            verifyNoInteractions(usuarioRepository, emailService);
+        }
+    }
+    
     /**
      * GRUPO: Búsqueda de Usuario
      */
@@ -396,6 +529,86 @@ class UsuarioServiceTest {
             assertThat(resultado).isEqualTo(usuariosActivos);
             verify(usuarioRepository).findByActivoTrue();
         }
+        
+        @Test
+        @DisplayName("Resumen de usuarios activos no debe cargar entidades")
+        void resumenUsuariosActivos_noDebeCargarEntidades() {
+            // Given
+            List<UsuarioResumen> resumen = Arrays.asList(new UsuarioResumen(1L, "Juan Pérez", "juan@example.com"));
+            when(usuarioRepository.findResumenByActivoTrue()).thenReturn(resumen);
+            
+            // When
+            List<UsuarioResumen> resultado = usuarioService.obtenerResumenUsuariosActivos();
+            
+            // Then
+            assertThat(resultado).isEqualTo(resumen);
+            verify(usuarioRepository, never()).findByActivoTrue();
+        }
+        
+        @Test
+        @DisplayName("Primera página debe pedir una fila de más y devolver token")
+        void primeraPagina_debePedirUnaFilaDeMasYDevolverToken() {
+            // Given
+            Usuario segundo = new Usuario("Ana García", "ana@example.com", 30);
+            segundo.setId(2L);
+            Usuario tercero = new Usuario("Luis López", "luis@example.com", 40);
+            tercero.setId(3L);
+            when(usuarioRepository.findByActivoTrueAndIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(usuarioEjemplo, segundo, tercero));
+            
+            // When
+            UsuarioService.PaginaUsuarios pagina = usuarioService.obtenerUsuariosActivosPorPagina(null, 2);
+            
+            // Then
+            assertThat(pagina.getUsuarios()).containsExactly(usuarioEjemplo, segundo);
+            assertThat(pagina.hayMas()).isTrue();
+            assertThat(pagina.getContinuacion()).isNotBlank();
+        }
+        
+        @Test
+        @DisplayName("Token de continuación debe buscar a partir del último id")
+        void tokenDeContinuacion_debeBuscarAPartirDelUltimoId() {
+            // Given
+            Usuario segundo = new Usuario("Ana García", "ana@example.com", 30);
+            segundo.setId(2L);
+            when(usuarioRepository.findByActivoTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(usuarioEjemplo, segundo))
+                .thenReturn(Arrays.asList());
+            String continuacion = usuarioService.obtenerUsuariosActivosPorPagina(null, 1).getContinuacion();
+            
+            // When
+            UsuarioService.PaginaUsuarios siguiente = usuarioService.obtenerUsuariosActivosPorPagina(continuacion, 1);
+            
+            // Then
+            verify(usuarioRepository).findByActivoTrueAndIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 2));
+            assertThat(siguiente.getUsuarios()).isEmpty();
+            assertThat(siguiente.hayMas()).isFalse();
+            assertThat(siguiente.getContinuacion()).isNull();
+        }
+        
+        @Test
+        @DisplayName("Token de continuación inválido debe lanzar excepción")
+        void tokenDeContinuacionInvalido_debeLanzarExcepcion() {
+            // When & Then
+            assertThatThrownBy(() -> usuarioService.obtenerUsuariosActivosPorPagina("no es un token", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token de continuación no válido");
+            
+            verifyNoInteractions(usuarioRepository);
+        }
+        
+        @Test
+        @DisplayName("Tamaño de página fuera de rango debe lanzar excepción")
+        void tamanoPaginaFueraDeRango_debeLanzarExcepcion() {
+            // When & Then
+            assertThatThrownBy(() -> usuarioService.obtenerUsuariosActivosPorPagina(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> usuarioService.obtenerUsuariosActivosPorPagina(null,
+                    UsuarioService.TAMANO_PAGINA_MAXIMO + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+            
+            verifyNoInteractions(usuarioRepository);
+        }
     }
     
     /**
@@ -506,69 +719,92 @@ class UsuarioServiceTest {
     class BusquedaConCriterios {
         
         @Test
-        @DisplayName("Buscar por nombre debe usar repository correcto")
-        void buscarPorNombre_debeUsarRepositoryCorrecto() {
+        @DisplayName("Buscar por varios criterios debe combinarlos en una consulta")
+        void buscarPorVariosCriterios_debeCombinarlosEnUnaConsulta() {
             // Given
-            String nombre = "Juan";
             List<Usuario> usuarios = Arrays.asList(usuarioEjemplo);
-            when(usuarioRepository.findByNombreContainingIgnoreCase(nombre)).thenReturn(usuarios);
+            when(usuarioRepository.findAll(any(Specification.class))).thenReturn(usuarios);
             
             // When
-            List<Usuario> resultado = usuarioService.buscarUsuarios(nombre, null, null);
+            List<Usuario> resultado = usuarioService.buscarUsuarios("Juan", 18, true);
             
             // Then
             assertThat(resultado).isEqualTo(usuarios);
-            verify(usuarioRepository).findByNombreContainingIgnoreCase(nombre);
+            verify(usuarioRepository).findAll(any(Specification.class));
+            verify(usuarioRepository, never()).findByNombreContainingIgnoreCase(anyString());
+            verify(usuarioRepository, never()).findUsuariosActivosConEdadMinima(any(), any());
         }
         
         @Test
-        @DisplayName("Buscar por edad mínima y activo debe usar query personalizada")
-        void buscarPorEdadMinimaYActivo_debeUsarQueryPersonalizada() {
+        @DisplayName("Buscar inactivos no debe devolver la tabla entera")
+        void buscarInactivos_noDebeDevolverTablaEntera() {
             // Given
-            Integer edadMinima = 18;
-            Boolean activo = true;
-            List<Usuario> usuarios = Arrays.asList(usuarioEjemplo);
+            when(usuarioRepository.findAll(any(Specification.class))).thenReturn(Arrays.asList(usuarioEjemplo));
             
-            when(usuarioRepository.findUsuariosActivosConEdadMinima(activo, edadMinima))
-                .thenReturn(usuarios);
+            // When
+            usuarioService.buscarUsuarios(null, null, false);
+            
+            // Then
+            verify(usuarioRepository).findAll(any(Specification.class));
+            verify(usuarioRepository, never()).findAll();
+        }
+        
+        @Test
+        @DisplayName("Buscar con filtro nulo debe lanzar excepción")
+        void buscarConFiltroNulo_debeLanzarExcepcion() {
+            // When & Then
+            assertThatThrownBy(() -> usuarioService.buscarUsuarios((FiltroUsuarios) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("El filtro de búsqueda no puede ser nulo");
+            
+            verifyNoInteractions(usuarioRepository);
+        }
+        
+        @Test
+        @DisplayName("Buscar paginado debe respetar el orden pedido")
+        void buscarPaginado_debeRespetarOrdenPedido() {
+            // Given
+            PageRequest pagina = PageRequest.of(0, 20, Sort.by("nombre"));
+            Slice<Usuario> usuarios = new SliceImpl<>(Arrays.asList(usuarioEjemplo), pagina, false);
+            when(usuarioRepository.findSlice(any(), eq(pagina))).thenReturn(usuarios);
             
             // When
-            List<Usuario> resultado = usuarioService.buscarUsuarios(null, edadMinima, activo);
+            Slice<Usuario> resultado = usuarioService.buscarUsuarios(
+                new FiltroUsuarios().dominioEmail("example.com"), pagina);
             
             // Then
-            assertThat(resultado).isEqualTo(usuarios);
-            verify(usuarioRepository).findUsuariosActivosConEdadMinima(activo, edadMinima);
+            assertThat(resultado).isSameAs(usuarios);
+            verify(usuarioRepository, never()).findAll();
         }
         
         @Test
-        @DisplayName("Buscar solo activos debe usar método específico")
-        void buscarSoloActivos_debeUsarMetodoEspecifico() {
+        @DisplayName("Buscar paginado debe limitar el tamaño de página y ordenar por id")
+        void buscarPaginado_debeLimitarTamanoYOrdenarPorId() {
             // Given
-            Boolean activo = true;
-            List<Usuario> usuarios = Arrays.asList(usuarioEjemplo);
-            when(usuarioRepository.findByActivoTrue()).thenReturn(usuarios);
+            when(usuarioRepository.findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(usuarioEjemplo)));
             
             // When
-            List<Usuario> resultado = usuarioService.buscarUsuarios(null, null, activo);
+            usuarioService.buscarUsuarios("Juan", null, null, PageRequest.of(2, 100_000));
             
             // Then
-            assertThat(resultado).isEqualTo(usuarios);
-            verify(usuarioRepository).findByActivoTrue();
+            verify(usuarioRepository).findSlice(any(),
+                eq(PageRequest.of(2, UsuarioService.TAMANO_PAGINA_MAXIMO, Sort.by("id"))));
         }
         
         @Test
-        @DisplayName("Buscar sin criterios debe retornar todos")
-        void buscarSinCriterios_debeRetornarTodos() {
+        @DisplayName("Buscar sin paginar debe pedir solo la primera página máxima")
+        void buscarSinPaginar_debePedirPrimeraPaginaMaxima() {
             // Given
-            List<Usuario> usuarios = Arrays.asList(usuarioEjemplo);
-            when(usuarioRepository.findAll()).thenReturn(usuarios);
+            when(usuarioRepository.findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(usuarioEjemplo)));
             
             // When
-            List<Usuario> resultado = usuarioService.buscarUsuarios(null, null, null);
+            usuarioService.buscarUsuarios(null, null, true, Pageable.unpaged());
             
             // Then
-            assertThat(resultado).isEqualTo(usuarios);
-            verify(usuarioRepository).findAll();
+            verify(usuarioRepository).findSlice(any(),
+                eq(PageRequest.of(0, UsuarioService.TAMANO_PAGINA_MAXIMO, Sort.by("id"))));
         }
     }
     
@@ -583,9 +819,7 @@ class UsuarioServiceTest {
         @DisplayName("Obtener estadísticas debe calcular correctamente")
         void obtenerEstadisticas_debeCalcularCorrectamente() {
             // Given
-            when(usuarioRepository.count()).thenReturn(100L);
-            when(usuarioRepository.countByActivoTrue()).thenReturn(85L);
-            when(usuarioRepository.findUsuariosMayoresDeEdad()).thenReturn(Arrays.asList(usuarioEjemplo));
+            when(usuarioRepository.countEstadisticas()).thenReturn(new ConteosUsuarios(100L, 85L, 70L, 60L, 5L));
             
             // When
             UsuarioService.EstadisticasUsuarios resultado = usuarioService.obtenerEstadisticas();
@@ -593,11 +827,27 @@ class UsuarioServiceTest {
             // Then
             assertThat(resultado.getTotalUsuarios()).isEqualTo(100L);
             assertThat(resultado.getUsuariosActivos()).isEqualTo(85L);
-            assertThat(resultado.getUsuariosMayoresEdad()).isEqualTo(1L);
+            assertThat(resultado.getUsuariosMayoresEdad()).isEqualTo(70L);
+            assertThat(resultado.getUsuariosActivosMayoresEdad()).isEqualTo(60L);
+            assertThat(resultado.getUsuariosSinEdad()).isEqualTo(5L);
+            
+            verify(usuarioRepository).countEstadisticas();
+            verify(usuarioRepository, never()).findUsuariosMayoresDeEdad();
+        }
+        
+        @Test
+        @DisplayName("Constructor de tres conteos debe dejar los desgloses a cero")
+        void constructorTresConteos_debeDejarDesglosesACero() {
+            // When
+            UsuarioService.EstadisticasUsuarios resultado = new UsuarioService.EstadisticasUsuarios(10L, 8L, 6L);
             
-            verify(usuarioRepository).count();
-            verify(usuarioRepository).countByActivoTrue();
-            verify(usuarioRepository).findUsuariosMayoresDeEdad();
+            // Then
+            assertThat(resultado.getTotalUsuarios()).isEqualTo(10L);
+            assertThat(resultado.getUsuariosActivos()).isEqualTo(8L);
+            assertThat(resultado.getUsuariosMayoresEdad()).isEqualTo(6L);
+            assertThat(resultado.getUsuariosActivosMayoresEdad()).isZero();
+            assertThat(resultado.getUsuariosSinEdad()).isZero();
+            assertThat(resultado.getUsuariosPorTramoEdad()).isEmpty();
         }
     }
     
@@ -638,4 +888,47 @@ class UsuarioServiceTest {
             verify(usuarioRepository, never()).deleteById(anyLong());
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * GRUPO: Exportación
+     */
+    @Nested
+    @DisplayName("Exportación")
+    class Exportacion {
+        
+        @Test
+        @DisplayName("Exportar debe entregar cada usuario al destino y cerrar el cursor")
+        void exportar_debeEntregarCadaUsuarioYCerrarCursor() {
+            // Given
+            Usuario otro = new Usuario("Ana García", "ana@example.com", 30);
+            AtomicBoolean cerrado = new AtomicBoolean();
+            when(usuarioRepository.findAllParaExportar())
+                .thenReturn(Stream.of(usuarioEjemplo, otro).onClose(() -> cerrado.set(true)));
+            List<Usuario> destino = new ArrayList<>();
+            
+            // When
+            long exportados = usuarioService.exportarUsuarios(destino::add);
+            
+            // Then
+            assertThat(exportados).isEqualTo(2);
+            assertThat(destino).containsExactly(usuarioEjemplo, otro);
+            assertThat(cerrado).isTrue();
+            verify(usuarioRepository, never()).findAll();
+        }
+        
+        @Test
+        @DisplayName("Fallo del destino debe cerrar igualmente el cursor")
+        void falloDestino_debeCerrarCursor() {
+            // Given
+            AtomicBoolean cerrado = new AtomicBoolean();
+            when(usuarioRepository.findAllParaExportar())
+                .thenReturn(Stream.of(usuarioEjemplo).onClose(() -> cerrado.set(true)));
+            
+            // When & Then
+            assertThatThrownBy(() -> usuarioService.exportarUsuarios(usuario -> {
+                throw new IllegalStateException("Disco lleno");
+            })).isInstanceOf(IllegalStateException.class);
+            assertThat(cerrado).isTrue();
+        }
+    }
+}